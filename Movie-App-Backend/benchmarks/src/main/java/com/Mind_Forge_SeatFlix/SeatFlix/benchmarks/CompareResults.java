@@ -0,0 +1,73 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compare two JMH JSON result files (-rf json) and fail on regressions
+ * Usage: java -cp target/benchmarks.jar com.Mind_Forge_SeatFlix.SeatFlix.benchmarks.CompareResults
+ *        baseline.json candidate.json [threshold-percent]
+ * Exits with status 1 if any benchmark is slower (or allocates more) by more than the threshold.
+ */
+public final class CompareResults {
+
+    private static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json> [threshold-percent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, double[]> baseline = read(new File(args[0]));
+        Map<String, double[]> candidate = read(new File(args[1]));
+
+        boolean regressed = false;
+        System.out.printf("%-90s %14s %14s %9s %14s%n", "benchmark", "baseline", "candidate", "change", "alloc B/op");
+        for (Map.Entry<String, double[]> entry : candidate.entrySet()) {
+            double[] before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            double[] after = entry.getValue();
+            // Every benchmark here reports time per operation, so higher is worse
+            double change = percentChange(before[0], after[0]);
+            double allocationChange = percentChange(before[1], after[1]);
+            boolean bad = change > threshold || allocationChange > threshold;
+            regressed |= bad;
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%% %14s%s%n", entry.getKey(), before[0], after[0], change,
+                    Double.isNaN(after[1]) ? "-" : String.format("%.0f", after[1]), bad ? "  REGRESSION" : "");
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    // Score and normalized allocation rate per benchmark (including its parameters)
+    private static Map<String, double[]> read(File file) throws IOException {
+        Map<String, double[]> results = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            StringBuilder name = new StringBuilder(run.path("benchmark").asText());
+            run.path("params").fields().forEachRemaining(param ->
+                    name.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            double score = run.path("primaryMetric").path("score").asDouble();
+            JsonNode allocation = run.path("secondaryMetrics").path(ALLOCATION_METRIC).path("score");
+            results.put(name.toString(), new double[] {score, allocation.isMissingNode() ? Double.NaN : allocation.asDouble()});
+        }
+        return results;
+    }
+
+    private static double percentChange(double before, double after) {
+        if (Double.isNaN(before) || Double.isNaN(after) || before == 0) {
+            return 0;
+        }
+        return (after - before) / before * 100;
+    }
+}
@@ -0,0 +1,38 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.benchmarks;
+
+import java.time.LocalDate;
+
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
+import com.Mind_Forge_SeatFlix.SeatFlix.util.JwtUtil;
+
+/**
+ * Beans wired by hand, the way Spring would configure them, without starting a context
+ */
+final class Fixtures {
+
+    static final String SECRET = "benchmark-secret-key-that-is-at-least-32-characters-long";
+    static final long EXPIRATION_MS = 86_400_000L;
+    // Low cost: only the format matters for the non-BCrypt benchmarks
+    static final String PASSWORD_HASH = new BCryptPasswordEncoder(4).encode("benchmark-password");
+
+    private Fixtures() {
+    }
+
+    static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "SECRET_KEY", SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "jwtExpirationMs", EXPIRATION_MS);
+        ReflectionTestUtils.invokeMethod(jwtUtil, "init");
+        return jwtUtil;
+    }
+
+    static Users user() {
+        Users user = new Users(42L, "benchmark_user", PASSWORD_HASH, "benchmark_user@example.com");
+        user.setProfilePic("/uploads/avatars/3f79bb7b435b05321651daefd374cdc681dc06faa65e374e38337b88ca046dea/256.jpg");
+        user.setDateJoined(LocalDate.of(2024, 1, 15));
+        return user;
+    }
+}
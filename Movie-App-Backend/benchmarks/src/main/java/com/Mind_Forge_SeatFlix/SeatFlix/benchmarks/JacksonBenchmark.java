@@ -0,0 +1,150 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.benchmarks;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.LoginResponse;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.RegisterResponse;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UserPage;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UserProfile;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UserSummary;
+import com.Mind_Forge_SeatFlix.SeatFlix.config.CustomUserDetails;
+import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+/**
+ * JSON serialization of the bodies returned by login, register, profile reads and listings
+ * The mapper is configured like Spring Boot's default one, with or without Blackbird. The
+ * reflective* benchmarks write the same JSON through bean introspection, as the endpoints did
+ * before their responses got hand-written serializers. Login and profile bodies were measured
+ * the same way and are written by the mapper again, since their serializers were no faster.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JacksonBenchmark {
+
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"default", "blackbird"})
+    public String mapper;
+
+    private ObjectWriter usersWriter;
+    private ObjectWriter loginResponseWriter;
+    private ObjectWriter userProfileWriter;
+    private ObjectWriter registerResponseWriter;
+    private ObjectWriter mapWriter;
+    private ObjectWriter userPageWriter;
+    private ObjectWriter reflectivePageWriter;
+
+    private Users user;
+    private LoginResponse loginResponse;
+    private UserProfile userProfile;
+    private RegisterResponse registerResponse;
+    private Map<String, Object> registerMap;
+    private UserPage userPage;
+    private ReflectivePage reflectivePage;
+
+    @Setup
+    public void setUp() {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        if (mapper.equals("blackbird")) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        ObjectMapper objectMapper = builder.build();
+        usersWriter = objectMapper.writerFor(Users.class);
+        loginResponseWriter = objectMapper.writerFor(LoginResponse.class);
+        userProfileWriter = objectMapper.writerFor(UserProfile.class);
+        registerResponseWriter = objectMapper.writerFor(RegisterResponse.class);
+        mapWriter = objectMapper.writerFor(Map.class);
+        userPageWriter = objectMapper.writerFor(UserPage.class);
+        reflectivePageWriter = objectMapper.writerFor(ReflectivePage.class);
+
+        user = Fixtures.user();
+        String token = Fixtures.jwtUtil().generateToken(new CustomUserDetails(user));
+        loginResponse = new LoginResponse("Login successful!", token, user.getId(), user.getUsername(), user.getEmail());
+        userProfile = UserProfile.from(user);
+        registerResponse = new RegisterResponse("Registration successful!", user.getUsername());
+        registerMap = new HashMap<>();
+        registerMap.put("message", "Registration successful!");
+        registerMap.put("username", user.getUsername());
+
+        List<UserSummary> summaries = new ArrayList<>(PAGE_SIZE);
+        List<ReflectiveSummary> reflectiveSummaries = new ArrayList<>(PAGE_SIZE);
+        for (long id = 1; id <= PAGE_SIZE; id++) {
+            String username = "benchmark_user_" + id;
+            String profilePic = id % 3 == 0 ? null : user.getProfilePic();
+            summaries.add(new UserSummary(id, username, profilePic));
+            reflectiveSummaries.add(new ReflectiveSummary(id, username, profilePic));
+        }
+        userPage = new UserPage(summaries, PAGE_SIZE + 1L);
+        reflectivePage = new ReflectivePage(reflectiveSummaries, PAGE_SIZE + 1L);
+    }
+
+    @Benchmark
+    public byte[] users() throws JsonProcessingException {
+        return usersWriter.writeValueAsBytes(user);
+    }
+
+    @Benchmark
+    public byte[] loginResponse() throws JsonProcessingException {
+        return loginResponseWriter.writeValueAsBytes(loginResponse);
+    }
+
+    @Benchmark
+    public byte[] userProfile() throws JsonProcessingException {
+        return userProfileWriter.writeValueAsBytes(userProfile);
+    }
+
+    @Benchmark
+    public byte[] registerResponse() throws JsonProcessingException {
+        return registerResponseWriter.writeValueAsBytes(registerResponse);
+    }
+
+    // What register returned before: a HashMap built per request
+    @Benchmark
+    public byte[] registerMap() throws JsonProcessingException {
+        Map<String, Object> response = new HashMap<>();
+        response.put("message", registerMap.get("message"));
+        response.put("username", registerMap.get("username"));
+        return mapWriter.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] userPage() throws JsonProcessingException {
+        return userPageWriter.writeValueAsBytes(userPage);
+    }
+
+    @Benchmark
+    public byte[] reflectiveUserPage() throws JsonProcessingException {
+        return reflectivePageWriter.writeValueAsBytes(reflectivePage);
+    }
+
+    public record ReflectiveSummary(Long id, String username, String profilePic) {
+    }
+
+    public record ReflectivePage(List<ReflectiveSummary> users, Long nextCursor) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.benchmarks;
+
+import java.io.IOException;
+import java.lang.reflect.Proxy;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UsersRepository;
+import com.Mind_Forge_SeatFlix.SeatFlix.config.CustomUserDetails;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.AdminAccess;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.AuthEventLogger;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.JwtAuthenticationFilter;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.TokenVersionService;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.VerifiedTokenCache;
+import com.Mind_Forge_SeatFlix.SeatFlix.util.JwtUtil;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+
+/**
+ * The per-request authentication filter with a stateless token
+ * Request and response are reused between invocations (only the "already filtered"
+ * marker is reset), so the gc profiler reports the filter's own allocations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> { };
+
+    /** Whether verified tokens are cached (jwt.token-cache.enabled) */
+    @Param({"true", "false"})
+    public boolean tokenCache;
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+    private String filteredMarker;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = Fixtures.jwtUtil();
+        String token = jwtUtil.generateToken(new CustomUserDetails(Fixtures.user()));
+
+        TokenVersionService tokenVersionService = new TokenVersionService(usersRepositoryStub(),
+                new SimpleMeterRegistry(), true, 30_000L, 10_000L);
+
+        AuthEventLogger authEventLogger = new AuthEventLogger();
+        ReflectionTestUtils.setField(authEventLogger, "successSampleRate", 0);
+        ReflectionTestUtils.setField(authEventLogger, "failureIntervalMs", 10_000L);
+        ReflectionTestUtils.setField(authEventLogger, "summaryIntervalMs", 60_000L);
+
+        filter = new JwtAuthenticationFilter();
+        ReflectionTestUtils.setField(filter, "tokenVersionService", tokenVersionService);
+        ReflectionTestUtils.setField(filter, "verifiedTokenCache",
+                new VerifiedTokenCache(jwtUtil, new SimpleMeterRegistry(), tokenCache, 50_000L));
+        ReflectionTestUtils.setField(filter, "authEventLogger", authEventLogger);
+        ReflectionTestUtils.setField(filter, "statelessAuthEnabled", true);
+        ReflectionTestUtils.setField(filter, "adminAccess", new AdminAccess(""));
+        filteredMarker = JwtAuthenticationFilter.class.getName() + ".FILTERED";
+
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/v1/users/me");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticated() throws ServletException, IOException {
+        return run(authenticatedRequest);
+    }
+
+    @Benchmark
+    public Authentication anonymous() throws ServletException, IOException {
+        return run(anonymousRequest);
+    }
+
+    private Authentication run(MockHttpServletRequest request) throws ServletException, IOException {
+        request.removeAttribute(filteredMarker);
+        try {
+            filter.doFilter(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    // Only the token version lookup is reached; it is cached after the first call
+    private static UsersRepository usersRepositoryStub() {
+        return (UsersRepository) Proxy.newProxyInstance(UsersRepository.class.getClassLoader(),
+                new Class<?>[] {UsersRepository.class}, (proxy, method, args) -> {
+                    if (method.getName().equals("findTokenVersionById")) {
+                        return Optional.of(0);
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
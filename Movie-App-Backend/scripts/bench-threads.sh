@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Load /login, /me and /upload-avatar on a running backend and print hey's latency summary.
+# Run once against a platform-thread build and once against a virtual-thread build
+# (see "Virtual threads" in the README), with the same database and machine.
+#
+# Usage: scripts/bench-threads.sh <label> [base-url] [concurrency] [duration]
+# Needs: hey (https://github.com/rakyll/hey), curl, and a test user (BENCH_USER / BENCH_PASSWORD).
+# Start the backend with RATE_LIMIT_ENABLED=false, or /login answers 429 after the first few requests.
+# The thread metrics at the end need an admin token (BENCH_ADMIN_TOKEN, see ADMIN_USER_IDS); without it they are skipped.
+set -euo pipefail
+
+LABEL=${1:?label, e.g. platform or virtual}
+BASE_URL=${2:-http://localhost:8080}
+CONCURRENCY=${3:-500}
+DURATION=${4:-60s}
+USER=${BENCH_USER:-bench}
+PASSWORD=${BENCH_PASSWORD:-bench-password}
+AVATAR=${BENCH_AVATAR:-$(dirname "$0")/../../Movie-App-Frontend/public/user.png}
+OUT=bench-results/$LABEL
+mkdir -p "$OUT"
+
+LOGIN_BODY="{\"username\":\"$USER\",\"password\":\"$PASSWORD\"}"
+curl -s -o /dev/null -X POST "$BASE_URL/api/v1/users/register" -H 'Content-Type: application/json' \
+  -d "{\"username\":\"$USER\",\"email\":\"$USER@example.com\",\"password\":\"$PASSWORD\"}" || true
+TOKEN=$(curl -s -X POST "$BASE_URL/api/v1/users/login" -H 'Content-Type: application/json' -d "$LOGIN_BODY" \
+  | sed -n 's/.*"token":"\([^"]*\)".*/\1/p')
+if [ -z "$TOKEN" ]; then
+  echo "Login failed for $USER" >&2
+  exit 1
+fi
+
+# Multipart body for the avatar upload
+BOUNDARY=seatflixbench
+UPLOAD_BODY=$(mktemp)
+{
+  printf -- '--%s\r\nContent-Disposition: form-data; name="file"; filename="avatar.png"\r\nContent-Type: image/png\r\n\r\n' "$BOUNDARY"
+  cat "$AVATAR"
+  printf -- '\r\n--%s--\r\n' "$BOUNDARY"
+} > "$UPLOAD_BODY"
+trap 'rm -f "$UPLOAD_BODY"' EXIT
+
+echo "== $LABEL: login (c=$CONCURRENCY, $DURATION)"
+hey -z "$DURATION" -c "$CONCURRENCY" -m POST -T 'application/json' -d "$LOGIN_BODY" \
+  "$BASE_URL/api/v1/users/login" | tee "$OUT/login.txt"
+
+echo "== $LABEL: me"
+hey -z "$DURATION" -c "$CONCURRENCY" -H "Authorization: Bearer $TOKEN" \
+  "$BASE_URL/api/v1/users/me" | tee "$OUT/me.txt"
+
+echo "== $LABEL: upload-avatar"
+hey -z "$DURATION" -c "$CONCURRENCY" -m POST -H "Authorization: Bearer $TOKEN" \
+  -T "multipart/form-data; boundary=$BOUNDARY" -D "$UPLOAD_BODY" \
+  "$BASE_URL/api/v1/users/upload-avatar" | tee "$OUT/upload-avatar.txt"
+
+# Thread and pool state after the run
+if [ -n "${BENCH_ADMIN_TOKEN:-}" ]; then
+  curl -s -H "Authorization: Bearer $BENCH_ADMIN_TOKEN" "$BASE_URL/actuator/metrics/jvm.threads.live" \
+    > "$OUT/jvm-threads-live.json" || true
+  curl -s -H "Authorization: Bearer $BENCH_ADMIN_TOKEN" "$BASE_URL/actuator/metrics/jvm.threads.peak" \
+    > "$OUT/jvm-threads-peak.json" || true
+fi
@@ -0,0 +1,28 @@
+#!/usr/bin/env bash
+# Build the fast-startup jar (Spring AOT) and train an AppCDS archive for it.
+# The training run starts the application until its context is refreshed and then exits, so it
+# needs the same environment as a normal start (database, JWT_SECRET, ...), e.g. from .env.
+#
+# Usage: scripts/build-cds.sh [output-dir]
+# Start: java -XX:SharedArchiveFile=<output-dir>/application.jsa -Dspring.aot.enabled=true \
+#             -jar <output-dir>/SeatFlix-0.0.1-SNAPSHOT.jar
+# The archive only matches the JDK and the jar it was trained with; rebuild both together.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+OUT=${1:-target/cds}
+JAR=SeatFlix-0.0.1-SNAPSHOT.jar
+
+./mvnw -B -q -Pfast-startup -DskipTests package
+
+# CDS needs the exploded layout (application jar + lib/), not the nested fat jar
+rm -rf "$OUT"
+java -Djarmode=tools -jar "target/$JAR" extract --destination "$OUT"
+
+java -XX:ArchiveClassesAtExit="$OUT/application.jsa" \
+  -Dspring.aot.enabled=true \
+  -Dspring.context.exit=onRefresh \
+  -jar "$OUT/$JAR"
+
+echo "CDS archive: $OUT/application.jsa"
+echo "Start with: java -XX:SharedArchiveFile=$OUT/application.jsa -Dspring.aot.enabled=true -jar $OUT/$JAR"
@@ -2,13 +2,19 @@ package com.Mind_Forge_SeatFlix.SeatFlix;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.Mind_Forge_SeatFlix.SeatFlix")
+@EnableScheduling
 public class UserAuthServiceApplication { // Main Application
 
 	public static void main(String[] args) {
-		SpringApplication.run(UserAuthServiceApplication.class, args);
+		SpringApplication application = new SpringApplication(UserAuthServiceApplication.class);
+		// Records startup steps for config.StartupReport and /actuator/startup
+		application.setApplicationStartup(new BufferingApplicationStartup(4096));
+		application.run(args);
 	}
 }
@@ -0,0 +1,10 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+/**
+ * Outcome of a bulk user import
+ * @param imported rows inserted
+ * @param duplicates rows skipped because the username or email already exists
+ * @param rejected rows that were malformed or failed validation
+ */
+public record BulkImportResult(long imported, long duplicates, long rejected) {
+}
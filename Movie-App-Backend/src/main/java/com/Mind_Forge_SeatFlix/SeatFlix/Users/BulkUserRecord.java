@@ -0,0 +1,12 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.time.LocalDate;
+
+/**
+ * One user row of a bulk import or export
+ * Imports accept either a raw password or an existing BCrypt passwordHash;
+ * exports never contain the raw password, and the hash only when explicitly enabled.
+ */
+public record BulkUserRecord(String username, String email, String password, String passwordHash,
+                             String profilePic, LocalDate dateJoined) {
+}
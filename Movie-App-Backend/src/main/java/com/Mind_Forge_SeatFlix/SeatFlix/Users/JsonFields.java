@@ -0,0 +1,40 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+
+/**
+ * Field writers for the hand-written response serializers
+ * Names are {@link SerializedString}s created once, so their quoted UTF-8 form is encoded on
+ * first use and copied as bytes afterwards. Nulls are written, like Spring Boot's default mapper.
+ */
+final class JsonFields {
+
+    private JsonFields() {
+    }
+
+    static SerializableString name(String name) {
+        return new SerializedString(name);
+    }
+
+    static void string(JsonGenerator gen, SerializableString name, String value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void number(JsonGenerator gen, SerializableString name, Long value) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+}
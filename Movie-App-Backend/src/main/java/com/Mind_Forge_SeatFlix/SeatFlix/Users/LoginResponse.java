@@ -0,0 +1,7 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+/**
+ * Body returned by a successful login
+ */
+public record LoginResponse(String message, String token, Long userId, String username, String email) {
+}
@@ -0,0 +1,33 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Body returned by a successful registration
+ */
+@JsonSerialize(using = RegisterResponse.Serializer.class)
+public record RegisterResponse(String message, String username) {
+
+    public static final class Serializer extends StdSerializer<RegisterResponse> {
+        private static final SerializableString MESSAGE = JsonFields.name("message");
+        private static final SerializableString USERNAME = JsonFields.name("username");
+
+        public Serializer() {
+            super(RegisterResponse.class);
+        }
+
+        @Override
+        public void serialize(RegisterResponse value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            JsonFields.string(gen, MESSAGE, value.message());
+            JsonFields.string(gen, USERNAME, value.username());
+            gen.writeEndObject();
+        }
+    }
+}
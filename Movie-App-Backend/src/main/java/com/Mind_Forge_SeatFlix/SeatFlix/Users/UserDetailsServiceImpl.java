@@ -1,29 +1,25 @@
 package com.Mind_Forge_SeatFlix.SeatFlix.Users;
 
-import java.util.ArrayList;
-
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import com.Mind_Forge_SeatFlix.SeatFlix.config.CustomUserDetails;
 import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
 
 @Service
 public class UserDetailsServiceImpl implements UserDetailsService {
     @Autowired
-    private UsersRepository usersRepository;
+    private UsersCache usersCache;
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Users user = usersRepository.findUserByUsername(username)
+        Users user = usersCache.findByUsername(username)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found"));
 
-        return new org.springframework.security.core.userdetails.User(
-                user.getUsername(),
-                user.getPassword(),
-                new ArrayList<>()
-        );
+        // Return CustomUserDetails so @AuthenticationPrincipal resolves in controllers
+        return new CustomUserDetails(user);
     }
 }
@@ -0,0 +1,10 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.util.List;
+
+/**
+ * One keyset page of users
+ * @param nextCursor id to pass as "after" for the next page, or null on the last page
+ */
+public record UserPage(List<UserSummary> users, Long nextCursor) {
+}
@@ -0,0 +1,17 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.time.LocalDate;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
+
+/**
+ * Public profile shape returned by the profile endpoints
+ * Read straight from the database as a projection, never as a managed entity.
+ */
+public record UserProfile(Long id, String username, String email, String profilePic, LocalDate dateJoined) {
+
+    public static UserProfile from(Users user) {
+        return new UserProfile(user.getId(), user.getUsername(), user.getEmail(),
+                user.getProfilePic(), user.getDateJoined());
+    }
+}
@@ -0,0 +1,36 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.io.IOException;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Compact user row used by the listing endpoints
+ */
+@JsonSerialize(using = UserSummary.Serializer.class)
+public record UserSummary(Long id, String username, String profilePic) {
+
+    // Written once per row of every listing and stream, so without bean introspection
+    public static final class Serializer extends StdSerializer<UserSummary> {
+        private static final SerializableString ID = JsonFields.name("id");
+        private static final SerializableString USERNAME = JsonFields.name("username");
+        private static final SerializableString PROFILE_PIC = JsonFields.name("profilePic");
+
+        public Serializer() {
+            super(UserSummary.class);
+        }
+
+        @Override
+        public void serialize(UserSummary value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeStartObject(value);
+            JsonFields.number(gen, ID, value.id());
+            JsonFields.string(gen, USERNAME, value.username());
+            JsonFields.string(gen, PROFILE_PIC, value.profilePic());
+            gen.writeEndObject();
+        }
+    }
+}
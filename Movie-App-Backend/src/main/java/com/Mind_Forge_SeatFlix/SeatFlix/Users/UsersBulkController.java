@@ -0,0 +1,79 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.config.CustomUserDetails;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.AdminAccess;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+/**
+ * Admin endpoints for bulk user migration
+ * Only user ids listed in app.admin.user-ids may call them.
+ */
+@RequestMapping(path = "api/v1/users/bulk")
+@RestController
+public class UsersBulkController {
+
+    private static final String NDJSON = "application/x-ndjson";
+    private static final byte[] ADMIN_REQUIRED = "Admin access required".getBytes(StandardCharsets.UTF_8);
+
+    private final UsersBulkService usersBulkService;
+    private final AdminAccess adminAccess;
+
+    public UsersBulkController(UsersBulkService usersBulkService, AdminAccess adminAccess) {
+        this.usersBulkService = usersBulkService;
+        this.adminAccess = adminAccess;
+    }
+
+    @PostMapping(path = "/import", consumes = {"text/csv", NDJSON})
+    public ResponseEntity<?> importUsers(
+            HttpServletRequest request,
+            @RequestHeader("Content-Type") String contentType,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("Admin access required");
+        }
+
+        UsersBulkService.Format format = contentType.startsWith("text/csv")
+                ? UsersBulkService.Format.CSV
+                : UsersBulkService.Format.NDJSON;
+        try {
+            BulkImportResult result = usersBulkService.importUsers(request.getInputStream(), format);
+            return ResponseEntity.ok(result);
+        } catch (IOException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Failed to read import: " + e.getMessage());
+        }
+    }
+
+    // Declared as StreamingResponseBody, otherwise Spring MVC looks for a message converter and fails
+    @GetMapping(path = "/export", produces = NDJSON)
+    public ResponseEntity<StreamingResponseBody> exportUsers(@AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (!isAdmin(userDetails)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .contentType(MediaType.TEXT_PLAIN)
+                    .body(output -> output.write(ADMIN_REQUIRED));
+        }
+
+        StreamingResponseBody body = usersBulkService::exportUsers;
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
+    }
+
+    private boolean isAdmin(CustomUserDetails userDetails) {
+        return userDetails != null && adminAccess.isAdmin(userDetails.getId());
+    }
+}
@@ -0,0 +1,60 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Command line entry point for bulk imports
+ * Usage: java -jar app.jar --import-users=/path/users.csv (or .ndjson)
+ * The application exits once the import has finished.
+ */
+@Component
+public class UsersBulkImportRunner implements ApplicationRunner {
+
+    private static final Logger log = LoggerFactory.getLogger(UsersBulkImportRunner.class);
+
+    private final UsersBulkService usersBulkService;
+    private final ApplicationContext applicationContext;
+
+    public UsersBulkImportRunner(UsersBulkService usersBulkService, ApplicationContext applicationContext) {
+        this.usersBulkService = usersBulkService;
+        this.applicationContext = applicationContext;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        if (!args.containsOption("import-users")) {
+            return;
+        }
+
+        Path file = Paths.get(args.getOptionValues("import-users").get(0));
+        UsersBulkService.Format format = file.getFileName().toString().toLowerCase().endsWith(".csv")
+                ? UsersBulkService.Format.CSV
+                : UsersBulkService.Format.NDJSON;
+
+        long started = System.nanoTime();
+        int exitCode = 0;
+        try (InputStream input = Files.newInputStream(file)) {
+            BulkImportResult result = usersBulkService.importUsers(input, format);
+            log.info("Imported {} users from {} in {} ms ({} duplicates, {} rejected)",
+                    result.imported(), file, (System.nanoTime() - started) / 1_000_000,
+                    result.duplicates(), result.rejected());
+        } catch (Exception e) {
+            log.error("User import from {} failed", file, e);
+            exitCode = 1;
+        }
+
+        int code = exitCode;
+        System.exit(SpringApplication.exit(applicationContext, () -> code));
+    }
+}
@@ -0,0 +1,331 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Streaming bulk import and export of users
+ * Input is read and written in chunks of batch-size rows: duplicates are checked with
+ * two set-based queries per chunk, passwords are hashed in parallel and rows are inserted
+ * with a single JDBC batch, so memory stays bounded by the chunk size.
+ */
+@Service
+public class UsersBulkService {
+
+    public enum Format { CSV, NDJSON }
+
+    private static final String INSERT_SQL =
+            "INSERT INTO users (username, password, email, profile_pic, date_joined, token_version) "
+                    + "VALUES (?, ?, ?, ?, ?, 0)";
+    private static final String EXPORT_SQL =
+            "SELECT username, email, profile_pic, date_joined FROM users ORDER BY id";
+    private static final String EXPORT_WITH_HASHES_SQL =
+            "SELECT username, email, password, profile_pic, date_joined FROM users ORDER BY id";
+
+    private final UsersRepository usersRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final BCryptPasswordEncoder bcrypt;
+    private final ExecutorService hashingPool;
+    private final int batchSize;
+    private final boolean exportPasswordHashes;
+
+    public UsersBulkService(UsersRepository usersRepository, DataSource dataSource,
+                            PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                            @Value("${app.security.bcrypt.strength:10}") int strength,
+                            @Value("${app.users.bulk.batch-size:500}") int batchSize,
+                            @Value("${app.users.bulk.hash-threads:0}") int hashThreads,
+                            @Value("${app.users.bulk.export-password-hashes:false}") boolean exportPasswordHashes) {
+        this.usersRepository = usersRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(batchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+        this.objectMapper = objectMapper;
+        this.bcrypt = new BCryptPasswordEncoder(strength);
+        this.batchSize = batchSize;
+        this.exportPasswordHashes = exportPasswordHashes;
+
+        // Separate from the login hashing pool so an import cannot starve interactive logins
+        int threads = hashThreads > 0 ? hashThreads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        this.hashingPool = Executors.newFixedThreadPool(threads);
+    }
+
+    /**
+     * Import users from CSV (with a header row) or NDJSON
+     * Rows whose username or email already exists are skipped, malformed rows are rejected.
+     */
+    public BulkImportResult importUsers(InputStream input, Format format) throws IOException {
+        long imported = 0;
+        long duplicates = 0;
+        long rejected = 0;
+
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String[] csvHeader = format == Format.CSV ? parseCsvHeader(reader.readLine()) : null;
+
+        List<BulkUserRecord> chunk = new ArrayList<>(batchSize);
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            BulkUserRecord record = parse(line, format, csvHeader);
+            if (record == null) {
+                rejected++;
+                continue;
+            }
+            chunk.add(record);
+            if (chunk.size() == batchSize) {
+                ChunkResult result = importChunk(chunk);
+                imported += result.imported;
+                duplicates += result.duplicates;
+                rejected += result.rejected;
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            ChunkResult result = importChunk(chunk);
+            imported += result.imported;
+            duplicates += result.duplicates;
+            rejected += result.rejected;
+        }
+        return new BulkImportResult(imported, duplicates, rejected);
+    }
+
+    /**
+     * Write every user as NDJSON, reading through a JDBC cursor
+     * Password hashes are left out unless app.users.bulk.export-password-hashes is on, so an
+     * export cannot leak them by default; without them the file re-imports only with passwords added.
+     */
+    public void exportUsers(OutputStream output) throws IOException {
+        try (SequenceWriter writer = objectMapper.writerFor(BulkUserRecord.class)
+                .withRootValueSeparator("\n")
+                .writeValues(output)) {
+            readOnlyTransactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.query(exportPasswordHashes ? EXPORT_WITH_HASHES_SQL : EXPORT_SQL, rs -> {
+                        Date dateJoined = rs.getDate("date_joined");
+                        BulkUserRecord record = new BulkUserRecord(
+                                rs.getString("username"),
+                                rs.getString("email"),
+                                null,
+                                exportPasswordHashes ? rs.getString("password") : null,
+                                rs.getString("profile_pic"),
+                                dateJoined == null ? null : dateJoined.toLocalDate());
+                        try {
+                            writer.write(record);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }));
+        }
+    }
+
+    private ChunkResult importChunk(List<BulkUserRecord> chunk) {
+        ChunkResult result = new ChunkResult();
+
+        // Drop invalid rows and duplicates inside the chunk itself
+        Map<String, BulkUserRecord> byEmail = new HashMap<>();
+        Set<String> usernames = new HashSet<>();
+        for (BulkUserRecord record : chunk) {
+            if (!isValid(record)) {
+                result.rejected++;
+            } else if (byEmail.containsKey(record.email()) || !usernames.add(record.username())) {
+                result.duplicates++;
+            } else {
+                byEmail.put(record.email(), record);
+            }
+        }
+        if (byEmail.isEmpty()) {
+            return result;
+        }
+
+        // Two set-based queries instead of one lookup per row
+        Set<String> existingEmails = new HashSet<>(usersRepository.findExistingEmails(byEmail.keySet()));
+        Set<String> existingUsernames = new HashSet<>(usersRepository.findExistingUsernames(usernames));
+        List<BulkUserRecord> fresh = new ArrayList<>(byEmail.size());
+        for (BulkUserRecord record : byEmail.values()) {
+            if (existingEmails.contains(record.email()) || existingUsernames.contains(record.username())) {
+                result.duplicates++;
+            } else {
+                fresh.add(record);
+            }
+        }
+        if (fresh.isEmpty()) {
+            return result;
+        }
+
+        List<String> hashes = hashAll(fresh);
+        LocalDate today = LocalDate.now();
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        BulkUserRecord record = fresh.get(i);
+                        ps.setString(1, record.username());
+                        ps.setString(2, hashes.get(i));
+                        ps.setString(3, record.email());
+                        ps.setString(4, isBlank(record.profilePic()) ? "user.png" : record.profilePic());
+                        ps.setDate(5, Date.valueOf(record.dateJoined() == null ? today : record.dateJoined()));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return fresh.size();
+                    }
+                }));
+        result.imported += fresh.size();
+        return result;
+    }
+
+    // Hash raw passwords in parallel; rows that already carry a BCrypt hash are kept as-is
+    private List<String> hashAll(List<BulkUserRecord> records) {
+        List<Future<String>> futures = new ArrayList<>(records.size());
+        for (BulkUserRecord record : records) {
+            Callable<String> task = isBlank(record.passwordHash())
+                    ? () -> bcrypt.encode(record.password())
+                    : record::passwordHash;
+            futures.add(hashingPool.submit(task));
+        }
+
+        List<String> hashes = new ArrayList<>(records.size());
+        try {
+            for (Future<String> future : futures) {
+                hashes.add(future.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while hashing imported passwords", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Failed to hash imported password", e.getCause());
+        }
+        return hashes;
+    }
+
+    private BulkUserRecord parse(String line, Format format, String[] csvHeader) {
+        if (format == Format.NDJSON) {
+            try {
+                return objectMapper.readValue(line, BulkUserRecord.class);
+            } catch (JsonProcessingException e) {
+                return null;
+            }
+        }
+
+        List<String> values = parseCsvLine(line);
+        Map<String, String> row = new HashMap<>();
+        for (int i = 0; i < csvHeader.length && i < values.size(); i++) {
+            row.put(csvHeader[i], values.get(i));
+        }
+        try {
+            String dateJoined = row.get("dateJoined");
+            return new BulkUserRecord(row.get("username"), row.get("email"), row.get("password"),
+                    row.get("passwordHash"), row.get("profilePic"),
+                    isBlank(dateJoined) ? null : LocalDate.parse(dateJoined));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static String[] parseCsvHeader(String headerLine) {
+        if (headerLine == null) {
+            return new String[0];
+        }
+        return parseCsvLine(headerLine).stream().map(String::trim).toArray(String[]::new);
+    }
+
+    // Minimal RFC 4180 parsing: quoted fields may contain commas and doubled quotes
+    private static List<String> parseCsvLine(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values;
+    }
+
+    // Same rules as the validation annotations on Users
+    private static boolean isValid(BulkUserRecord record) {
+        if (isBlank(record.username()) || record.username().length() < 3 || record.username().length() > 50) {
+            return false;
+        }
+        if (isBlank(record.email()) || !record.email().contains("@")) {
+            return false;
+        }
+        if (!isBlank(record.passwordHash())) {
+            return record.passwordHash().startsWith("$2");
+        }
+        return record.password() != null && record.password().length() >= 6;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        hashingPool.shutdown();
+    }
+
+    private static final class ChunkResult {
+        private long imported;
+        private long duplicates;
+        private long rejected;
+    }
+}
@@ -0,0 +1,173 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded in-process cache in front of UsersRepository
+ * Users are stored once by id; username and email only index into the id cache,
+ * so a single eviction by id makes every lookup path miss.
+ * Cached users are detached copies and must not be modified by callers.
+ */
+@Component
+public class UsersCache {
+
+    private static final int EVICTION_STRIPES = 1024;
+
+    private final UsersRepository usersRepository;
+    private final boolean enabled;
+    private final Cache<Long, Users> usersById;
+    private final Cache<String, Long> idsByUsername;
+    private final Cache<String, Long> idsByEmail;
+
+    // Counts evictions; each stripe holds the count at the last eviction of one of its users
+    private final AtomicLong evictions = new AtomicLong();
+    private final AtomicLongArray evictedAt = new AtomicLongArray(EVICTION_STRIPES);
+
+    public UsersCache(UsersRepository usersRepository, MeterRegistry meterRegistry,
+                      @Value("${app.users.cache.enabled:true}") boolean enabled,
+                      @Value("${app.users.cache.max-size:10000}") long maxSize,
+                      @Value("${app.users.cache.ttl-seconds:600}") long ttlSeconds) {
+        this.usersRepository = usersRepository;
+        this.enabled = enabled;
+        this.usersById = newCache(maxSize, ttlSeconds);
+        this.idsByUsername = newCache(maxSize, ttlSeconds);
+        this.idsByEmail = newCache(maxSize, ttlSeconds);
+
+        CaffeineCacheMetrics.monitor(meterRegistry, usersById, "users.byId");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByUsername, "users.byUsername");
+        CaffeineCacheMetrics.monitor(meterRegistry, idsByEmail, "users.byEmail");
+    }
+
+    private static <K, V> Cache<K, V> newCache(long maxSize, long ttlSeconds) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Find user by ID, loading from the database on a miss
+     */
+    public Optional<Users> findById(Long id) {
+        if (!enabled) {
+            return usersRepository.findById(id);
+        }
+        Users cached = usersById.getIfPresent(id);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        return load(() -> usersRepository.findById(id));
+    }
+
+    /**
+     * Find user by username, loading from the database on a miss
+     */
+    public Optional<Users> findByUsername(String username) {
+        if (!enabled) {
+            return usersRepository.findUserByUsername(username);
+        }
+        Users cached = lookup(idsByUsername.getIfPresent(username));
+        if (cached != null && username.equals(cached.getUsername())) {
+            return Optional.of(cached);
+        }
+        return load(() -> usersRepository.findUserByUsername(username));
+    }
+
+    /**
+     * Find user by email, loading from the database on a miss
+     * Misses are not cached, so a freshly registered email is always seen.
+     */
+    public Optional<Users> findByEmail(String email) {
+        if (!enabled) {
+            return usersRepository.findUserByEmail(email);
+        }
+        Users cached = lookup(idsByEmail.getIfPresent(email));
+        if (cached != null && email.equals(cached.getEmail())) {
+            return Optional.of(cached);
+        }
+        return load(() -> usersRepository.findUserByEmail(email));
+    }
+
+    /**
+     * Return the cached user without falling back to the database
+     */
+    public Optional<Users> peekById(Long id) {
+        return enabled ? Optional.ofNullable(usersById.getIfPresent(id)) : Optional.empty();
+    }
+
+    /**
+     * Evict a user now and again once the surrounding transaction completes,
+     * so a concurrent read cannot re-cache the pre-commit row.
+     */
+    public void evict(Long id) {
+        evictNow(id);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evictNow(id);
+                }
+            });
+        }
+    }
+
+    private void evictNow(Long id) {
+        evictedAt.accumulateAndGet(stripe(id), evictions.incrementAndGet(), Math::max);
+        Users previous = usersById.getIfPresent(id);
+        usersById.invalidate(id);
+        if (previous != null) {
+            idsByUsername.invalidate(previous.getUsername());
+            idsByEmail.invalidate(previous.getEmail());
+        }
+    }
+
+    private Users lookup(Long id) {
+        return id == null ? null : usersById.getIfPresent(id);
+    }
+
+    private Optional<Users> load(Supplier<Optional<Users>> loader) {
+        long loadStartedAt = evictions.get();
+        Optional<Users> loaded = loader.get().map(UsersCache::detachedCopy);
+        loaded.ifPresent(user -> {
+            usersById.put(user.getId(), user);
+            idsByUsername.put(user.getUsername(), user.getId());
+            idsByEmail.put(user.getEmail(), user.getId());
+            // An eviction during the query may have run before these puts; the row could be stale.
+            // Index entries need no cleanup, since lookups through them check the cached user.
+            if (evictedAt.get(stripe(user.getId())) > loadStartedAt) {
+                usersById.asMap().remove(user.getId(), user);
+            }
+        });
+        return loaded;
+    }
+
+    private static int stripe(Long id) {
+        return Long.hashCode(id) & (EVICTION_STRIPES - 1);
+    }
+
+    // Never cache the managed instance: an open persistence context could still mutate it
+    private static Users detachedCopy(Users user) {
+        Users copy = new Users(user.getId(), user.getUsername(), user.getPassword(), user.getEmail());
+        copy.setProfilePic(user.getProfilePic());
+        copy.setDateJoined(user.getDateJoined());
+        copy.setTokenVersion(user.getTokenVersion());
+        return copy;
+    }
+}
@@ -1,22 +1,24 @@
 package com.Mind_Forge_SeatFlix.SeatFlix.Users;
 
+import com.Mind_Forge_SeatFlix.SeatFlix.security.AdminAccess;
 import com.Mind_Forge_SeatFlix.SeatFlix.security.JwtAuthenticationFilter;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.RateLimitFilter;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.autoconfigure.security.servlet.EndpointRequest;
+import org.springframework.boot.actuate.health.HealthEndpoint;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.config.annotation.authentication.builders.AuthenticationManagerBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
+import org.springframework.web.filter.CorsFilter;
 
 import java.util.Arrays;
 import java.util.List;
@@ -26,29 +28,15 @@ import java.util.List;
 public class UsersConfig {
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private JwtAuthenticationFilter jwtAuthenticationFilter;
 
+    // Per-IP and per-IP-and-username limits on login and register
     @Autowired
-    private JwtAuthenticationFilter jwtAuthenticationFilter;
+    private RateLimitFilter rateLimitFilter;
 
     @Value("${app.cors.allowed-origins}")
     private String allowedOrigins;
 
-    @Bean
-    BCryptPasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
-    }
-
-    @Bean
-    public AuthenticationManager authenticationManager(HttpSecurity http) throws Exception {
-        AuthenticationManagerBuilder authenticationManagerBuilder =
-                http.getSharedObject(AuthenticationManagerBuilder.class);
-        authenticationManagerBuilder
-                .userDetailsService(userDetailsService)
-                .passwordEncoder(passwordEncoder());
-        return authenticationManagerBuilder.build();
-    }
-
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -87,10 +75,20 @@ public class UsersConfig {
                 // Public endpoints MUST be first - allow all methods
                 .requestMatchers("/api/v1/users/login", "/api/v1/users/register").permitAll()
 
+                // Avatars are loaded by <img> tags, which cannot send the bearer token
+                .requestMatchers(HttpMethod.GET, "/uploads/avatars/**").permitAll()
+
+                // Query stats, metrics and the startup timeline (and resetting them) are for admins
+                .requestMatchers(EndpointRequest.toAnyEndpoint().excluding(HealthEndpoint.class))
+                    .hasRole(AdminAccess.ROLE)
+
                 // All other endpoints require authentication
                 .anyRequest().authenticated()
             )
 
+            // Rate limit right after CORS, so a 429 still carries the CORS headers
+            .addFilterAfter(rateLimitFilter, CorsFilter.class)
+
             // Add JWT filter before the username/password authentication filter
             .addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 
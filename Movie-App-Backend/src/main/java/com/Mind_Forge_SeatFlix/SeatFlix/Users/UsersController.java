@@ -4,31 +4,28 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.Mind_Forge_SeatFlix.SeatFlix.avatar.AvatarBusyException;
+import com.Mind_Forge_SeatFlix.SeatFlix.avatar.AvatarService;
 import com.Mind_Forge_SeatFlix.SeatFlix.config.CustomUserDetails;
 import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
-import com.Mind_Forge_SeatFlix.SeatFlix.util.JwtUtil;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.PasswordHashingBusyException;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
 
 import jakarta.validation.Valid;
 
 import java.io.IOException;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
-import java.nio.file.StandardCopyOption;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
-import java.util.UUID;
-
-import org.springframework.beans.factory.annotation.Autowired;
+import java.io.UncheckedIOException;
+
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -42,27 +39,65 @@ import org.springframework.web.bind.annotation.RequestBody;
 public class UsersController {
 
     private final UsersService userService;
-    private final BCryptPasswordEncoder passwordEncoder;
-
-    @Autowired
-    private AuthenticationManager authenticationManager;
-
-    @Autowired
-    private JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final AvatarService avatarService;
 
-    public UsersController(UsersService userService, BCryptPasswordEncoder passwordEncoder) {
+    public UsersController(UsersService userService, ObjectMapper objectMapper, AvatarService avatarService) {
         this.userService = userService;
-        this.passwordEncoder = passwordEncoder;
+        this.objectMapper = objectMapper;
+        this.avatarService = avatarService;
     }
 
     @GetMapping
-    public ResponseEntity<List<Users>> getUsers() {
-        return ResponseEntity.ok(userService.getUsers());
+    public ResponseEntity<StreamingResponseBody> getUsers() {
+        // Same JSON array as before paging existed, written as rows arrive from the database cursor
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writerFor(Users.class).writeValuesAsArray(outputStream)) {
+                userService.streamAllUsers(user -> {
+                    try {
+                        writer.write(user);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body);
+    }
+
+    @GetMapping("/page")
+    public ResponseEntity<UserPage> getUsersPage(
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.getUsersPage(after, limit));
+    }
+
+    @GetMapping(path = "/stream", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> streamUsers() {
+        // One JSON object per line, written as rows arrive from the database cursor
+        StreamingResponseBody body = outputStream -> {
+            try (SequenceWriter writer = objectMapper.writerFor(UserSummary.class)
+                    .withRootValueSeparator("\n")
+                    .writeValues(outputStream)) {
+                userService.streamUsers(user -> {
+                    try {
+                        writer.write(user);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.parseMediaType("application/x-ndjson"))
+                .body(body);
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<?> getUserById(@PathVariable("id") Long id) {
-        Users user = userService.getUserById(id);
+        UserProfile user = userService.getUserProfile(id);
         return (user != null) ? ResponseEntity.ok(user)
                 : ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
     }
@@ -71,17 +106,22 @@ public class UsersController {
     public ResponseEntity<?> register(@Valid @RequestBody Users users) {
         try {
             userService.addNewUsers(users);
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Registration successful!");
-            response.put("username", users.getUsername());
-            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(new RegisterResponse("Registration successful!", users.getUsername()));
         } catch (IllegalStateException e) {
             return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (PasswordHashingBusyException e) {
+            return serverBusy(e.getRetryAfterSeconds());
         }
     }
 
     @DeleteMapping(path = "{id}")
-    public ResponseEntity<?> deleteUser(@PathVariable("id") Long id) {
+    public ResponseEntity<?> deleteUser(
+            @PathVariable("id") Long id,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (!ownsAccount(userDetails, id)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only delete your own account");
+        }
         try {
             userService.deleteUser(id);
             return ResponseEntity.ok("User deleted successfully");
@@ -94,7 +134,11 @@ public class UsersController {
     public ResponseEntity<?> updateUser(
             @PathVariable("id") Long id,
             @RequestParam(required = false) String name,
-            @RequestParam(required = false) String email) {
+            @RequestParam(required = false) String email,
+            @AuthenticationPrincipal CustomUserDetails userDetails) {
+        if (!ownsAccount(userDetails, id)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body("You can only update your own account");
+        }
         try {
             userService.updateUser(id, name, email);
             return ResponseEntity.ok("User updated successfully");
@@ -106,32 +150,13 @@ public class UsersController {
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequest loginRequest) {
         try {
-            // Authenticate user
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            loginRequest.getUsername(),
-                            loginRequest.getPassword()
-                    )
-            );
-
-            // Load user details
-            Users user = userService.findUserByUsername(loginRequest.getUsername());
-            CustomUserDetails userDetails = new CustomUserDetails(user);
-
-            // Generate JWT token
-            String token = jwtUtil.generateToken(userDetails);
-
-            // Build response
-            Map<String, Object> response = new HashMap<>();
-            response.put("message", "Login successful!");
-            response.put("token", token);
-            response.put("userId", user.getId());
-            response.put("username", user.getUsername());
-            response.put("email", user.getEmail());
-
+            // Single user lookup: verify password, issue token and build the response from one entity
+            LoginResponse response = userService.login(loginRequest.getUsername(), loginRequest.getPassword());
             return ResponseEntity.ok(response);
         } catch (BadCredentialsException e) {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid credentials");
+        } catch (PasswordHashingBusyException e) {
+            return serverBusy(e.getRetryAfterSeconds());
         } catch (Exception e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("An error occurred during login");
@@ -154,34 +179,15 @@ public class UsersController {
         try {
             Long userId = userDetails.getId();
 
-            // Validate file type
-            String contentType = file.getContentType();
-            if (contentType == null || !contentType.startsWith("image/")) {
-                return ResponseEntity.status(HttpStatus.BAD_REQUEST)
-                        .body("Only image files are allowed");
-            }
-
-            // Save avatar and update user
-            // Extract file extension safely
-            String originalFilename = file.getOriginalFilename();
-            String fileExtension = "";
-            if (originalFilename != null && originalFilename.contains(".")) {
-                fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-            }
-
-            // Generate secure UUID-based filename
-            String fileName = UUID.randomUUID().toString() + fileExtension;
-
-            Path uploadDir = Paths.get("uploads/avatars/" + userId);
-            Files.createDirectories(uploadDir);
-
-            Path filePath = uploadDir.resolve(fileName);
-            Files.copy(file.getInputStream(), filePath, StandardCopyOption.REPLACE_EXISTING);
-
-            String fileUrl = "/uploads/avatars/" + userId + "/" + fileName;
-            Users user = userService.updateProfilePic(userId, fileUrl);
+            // Format is sniffed from the content; resizing happens in the background
+            avatarService.submit(userId, file);
 
-            return ResponseEntity.ok(user);
+            // Current profile; profilePic switches to the new avatar once processing finishes
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(userService.getUserProfile(userId));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(e.getMessage());
+        } catch (AvatarBusyException e) {
+            return serverBusy(e.getRetryAfterSeconds());
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body("Failed to upload avatar: " + e.getMessage());
@@ -194,7 +200,20 @@ public class UsersController {
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
         }
 
-        Users user = userService.getUserById(userDetails.getId());
-        return ResponseEntity.ok(user);
+        UserProfile user = userService.getUserProfile(userDetails.getId());
+        return (user != null) ? ResponseEntity.ok(user)
+                : ResponseEntity.status(HttpStatus.NOT_FOUND).body("User not found");
+    }
+
+    // Fast rejection while a bounded worker pool (password hashing, avatars) is saturated
+    private ResponseEntity<String> serverBusy(long retryAfterSeconds) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body("Server is busy, please try again shortly");
+    }
+
+    // Accounts are changed only by their owner, whatever the path id says
+    private static boolean ownsAccount(CustomUserDetails userDetails, Long id) {
+        return userDetails != null && userDetails.getId().equals(id);
     }
 }
@@ -1,12 +1,20 @@
 package com.Mind_Forge_SeatFlix.SeatFlix.Users;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
 
+import jakarta.persistence.QueryHint;
+
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Users entity
@@ -36,4 +44,80 @@ public interface UsersRepository extends JpaRepository<Users, Long> {
      * @return Optional containing the user if found
      */
     Optional<Users> findById(Long id);
+
+    /**
+     * Fetch only the token version of a user, used to revoke stateless tokens
+     * @param id the user ID
+     * @return Optional containing the version if the user exists
+     */
+    @Query("SELECT COALESCE(u.tokenVersion, 0) FROM Users u WHERE u.id = ?1")
+    Optional<Integer> findTokenVersionById(Long id);
+
+    /**
+     * Stream every user ordered by id using a JDBC cursor
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return stream of read-only users; detach each one once used so the persistence context stays small
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM Users u ORDER BY u.id")
+    Stream<Users> streamAllUsers();
+
+    /**
+     * Check whether any user still points at the given avatar
+     * @param profilePic avatar URL
+     * @return true if at least one user references it
+     */
+    boolean existsByProfilePic(String profilePic);
+
+    /**
+     * Set-based duplicate check for bulk imports
+     * @param emails candidate emails
+     * @return the subset that already exists
+     */
+    @Query("SELECT u.email FROM Users u WHERE u.email IN ?1")
+    List<String> findExistingEmails(Collection<String> emails);
+
+    /**
+     * Set-based duplicate check for bulk imports
+     * @param usernames candidate usernames
+     * @return the subset that already exists
+     */
+    @Query("SELECT u.username FROM Users u WHERE u.username IN ?1")
+    List<String> findExistingUsernames(Collection<String> usernames);
+
+    /**
+     * Read the public profile of a user without hydrating a managed entity
+     * @param id the user ID
+     * @return Optional containing the profile if found
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_FLUSH_MODE, value = "MANUAL")
+    })
+    @Query("SELECT new com.Mind_Forge_SeatFlix.SeatFlix.Users.UserProfile(u.id, u.username, u.email, u.profilePic, u.dateJoined) "
+            + "FROM Users u WHERE u.id = ?1")
+    Optional<UserProfile> findProfileById(Long id);
+
+    /**
+     * Keyset page of users ordered by id
+     * @param afterId only users with a greater id are returned
+     * @param limit maximum number of rows
+     * @return compact user rows, never managed entities
+     */
+    @Query("SELECT new com.Mind_Forge_SeatFlix.SeatFlix.Users.UserSummary(u.id, u.username, u.profilePic) "
+            + "FROM Users u WHERE u.id > ?1 ORDER BY u.id")
+    List<UserSummary> findSummariesAfter(Long afterId, Limit limit);
+
+    /**
+     * Stream every user ordered by id using a JDBC cursor
+     * Must be consumed inside a transaction and closed afterwards.
+     * @return stream of compact user rows
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("SELECT new com.Mind_Forge_SeatFlix.SeatFlix.Users.UserSummary(u.id, u.username, u.profilePic) "
+            + "FROM Users u ORDER BY u.id")
+    Stream<UserSummary> streamAllSummaries();
 }
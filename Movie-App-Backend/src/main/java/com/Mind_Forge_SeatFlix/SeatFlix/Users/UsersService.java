@@ -4,13 +4,27 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import com.Mind_Forge_SeatFlix.SeatFlix.config.CustomUserDetails;
 import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.PasswordHashingBusyException;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.TokenVersionService;
+import com.Mind_Forge_SeatFlix.SeatFlix.util.JwtUtil;
+import com.Mind_Forge_SeatFlix.SeatFlix.watch.WatchProgressService;
 
-import jakarta.transaction.Transactional;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 
 /**
  * Service layer for User operations
@@ -20,33 +34,137 @@ import jakarta.transaction.Transactional;
 public class UsersService {
 
     private final UsersRepository usersRepository;
-    private final BCryptPasswordEncoder passwordEncoder;
+    private final PasswordEncoder passwordEncoder;
+    private final TokenVersionService tokenVersionService;
+    private final UsersCache usersCache;
+    private final JwtUtil jwtUtil;
+    private final WatchProgressService watchProgressService;
+    private final TransactionTemplate readOnlyTransactionTemplate;
 
-    public UsersService(UsersRepository usersRepository, BCryptPasswordEncoder passwordEncoder) {
+    // Hash compared against when the username is unknown, so both paths cost one BCrypt check
+    private volatile String unknownUserPasswordHash;
+
+    public UsersService(UsersRepository usersRepository, PasswordEncoder passwordEncoder,
+                        TokenVersionService tokenVersionService, UsersCache usersCache, JwtUtil jwtUtil,
+                        WatchProgressService watchProgressService, PlatformTransactionManager transactionManager) {
         this.usersRepository = usersRepository;
         this.passwordEncoder = passwordEncoder;
+        this.tokenVersionService = tokenVersionService;
+        this.usersCache = usersCache;
+        this.jwtUtil = jwtUtil;
+        this.watchProgressService = watchProgressService;
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
+    @Value("${app.users.page.default-size:50}")
+    private int defaultPageSize;
+
+    @Value("${app.users.page.max-size:500}")
+    private int maxPageSize;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
     /**
-     * Get all users from database
+     * Get one keyset page of users ordered by id
+     * @param afterId cursor returned by the previous page, or null for the first page
+     * @param size requested page size, clamped to the configured maximum
      */
-    public List<Users> getUsers() {
-        return usersRepository.findAll();
+    public UserPage getUsersPage(Long afterId, Integer size) {
+        int pageSize = (size == null || size <= 0) ? defaultPageSize : Math.min(size, maxPageSize);
+        List<UserSummary> users = usersRepository.findSummariesAfter(afterId == null ? 0L : afterId, Limit.of(pageSize));
+        Long nextCursor = users.size() < pageSize ? null : users.get(users.size() - 1).id();
+        return new UserPage(users, nextCursor);
     }
 
     /**
-     * Get user by ID
+     * Hand every user entity to the consumer as rows arrive from the database cursor
+     * Backs the unpaged listing, whose JSON shape clients already depend on. Each user is
+     * detached once consumed, so the persistence context does not grow with the table.
      */
-    public Users getUserById(Long id) {
-        return usersRepository.findById(id).orElse(null);
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<Users> consumer) {
+        try (Stream<Users> users = usersRepository.streamAllUsers()) {
+            users.forEach(user -> {
+                consumer.accept(user);
+                entityManager.detach(user);
+            });
+        }
     }
 
     /**
-     * Find user by username
+     * Hand every user to the consumer as rows arrive from the database cursor
+     * Heap usage stays flat regardless of table size.
      */
-    public Users findUserByUsername(String username) {
-        return usersRepository.findUserByUsername(username)
-                .orElseThrow(() -> new RuntimeException("User not found with username: " + username));
+    @Transactional(readOnly = true)
+    public void streamUsers(Consumer<UserSummary> consumer) {
+        try (Stream<UserSummary> users = usersRepository.streamAllSummaries()) {
+            users.forEach(consumer);
+        }
+    }
+
+    /**
+     * Get the public profile of a user
+     * Served from the user cache when hot, without touching a connection; otherwise read
+     * as a projection in a read-only transaction (manual flush, no dirty checking).
+     */
+    public UserProfile getUserProfile(Long id) {
+        return usersCache.peekById(id)
+                .map(UserProfile::from)
+                .or(() -> readOnlyTransactionTemplate.execute(status -> usersRepository.findProfileById(id)))
+                .orElse(null);
+    }
+
+    /**
+     * Authenticate a user with a single lookup and issue a JWT
+     * Unknown usernames still perform one BCrypt comparison, so response time
+     * does not reveal whether an account exists.
+     * @throws BadCredentialsException if the username or password is wrong
+     */
+    public LoginResponse login(String username, String rawPassword) {
+        Optional<Users> found = username == null ? Optional.empty() : usersCache.findByUsername(username);
+        String presentedPassword = rawPassword == null ? "" : rawPassword;
+
+        if (found.isEmpty()) {
+            passwordEncoder.matches(presentedPassword, unknownUserPasswordHash());
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        Users user = found.get();
+        if (rawPassword == null || !passwordEncoder.matches(presentedPassword, user.getPassword())) {
+            throw new BadCredentialsException("Bad credentials");
+        }
+
+        // Transparently move the stored hash to the configured BCrypt cost
+        if (passwordEncoder.upgradeEncoding(user.getPassword())) {
+            rehashPassword(user.getId(), rawPassword);
+        }
+
+        String token = jwtUtil.generateToken(new CustomUserDetails(user));
+        return new LoginResponse("Login successful!", token, user.getId(), user.getUsername(), user.getEmail());
+    }
+
+    private String unknownUserPasswordHash() {
+        String hash = unknownUserPasswordHash;
+        if (hash == null) {
+            hash = passwordEncoder.encode("unknown-user-password");
+            unknownUserPasswordHash = hash;
+        }
+        return hash;
+    }
+
+    private void rehashPassword(Long userId, String rawPassword) {
+        try {
+            String rehashed = passwordEncoder.encode(rawPassword);
+            usersRepository.findById(userId).ifPresent(user -> {
+                user.setPassword(rehashed);
+                usersRepository.save(user);
+                usersCache.evict(userId);
+            });
+        } catch (PasswordHashingBusyException e) {
+            // Not worth failing a valid login over; the hash is upgraded on a later login
+        }
     }
 
     /**
@@ -63,7 +181,7 @@ public class UsersService {
      */
     public void addNewUsers(Users user) {
         // Check if email already exists
-        Optional<Users> existingUser = usersRepository.findUserByEmail(user.getEmail());
+        Optional<Users> existingUser = usersCache.findByEmail(user.getEmail());
         if (existingUser.isPresent()) {
             throw new IllegalStateException("Email already exists");
         }
@@ -86,23 +204,31 @@ public class UsersService {
     }
 
     /**
-     * Delete user by ID
+     * Delete user by ID, together with the rows that reference it
      */
+    @Transactional
     public void deleteUser(Long id) {
         boolean exists = usersRepository.existsById(id);
         if (!exists) {
             throw new IllegalStateException("User with id " + id + " does not exist");
         }
+        watchProgressService.deleteForUser(id);
         usersRepository.deleteById(id);
+        usersCache.evict(id);
+        tokenVersionService.invalidate(id);
     }
 
     /**
      * Update user information (username and/or email)
+     * Changing either one revokes previously issued tokens, since they embed both
      */
     @Transactional
     public void updateUser(Long id, String username, String email) {
         Users user = usersRepository.findById(id)
                 .orElseThrow(() -> new IllegalStateException("User with id " + id + " does not exist"));
+        usersCache.evict(id);
+        String previousUsername = user.getUsername();
+        String previousEmail = user.getEmail();
 
         // Update username if provided and different
         if (username != null && username.length() > 0 && !Objects.equals(user.getUsername(), username)) {
@@ -118,17 +244,30 @@ public class UsersService {
             }
             user.setEmail(email);
         }
+
+        if (!Objects.equals(user.getUsername(), previousUsername) || !Objects.equals(user.getEmail(), previousEmail)) {
+            user.setTokenVersion(user.getTokenVersion() + 1);
+            tokenVersionService.invalidate(id);
+        }
+    }
+
+    /**
+     * Check whether any user still references the given profile picture
+     */
+    public boolean isProfilePicInUse(String profilePic) {
+        return usersRepository.existsByProfilePic(profilePic);
     }
 
     /**
      * Update user's profile picture
      */
     @Transactional
-    public Users updateProfilePic(Long userId, String fileUrl) {
+    public UserProfile updateProfilePic(Long userId, String fileUrl) {
         Users user = usersRepository.findById(userId)
                 .orElseThrow(() -> new IllegalStateException("User not found"));
+        usersCache.evict(userId);
 
         user.setProfilePic(fileUrl);
-        return usersRepository.save(user);
+        return UserProfile.from(usersRepository.save(user));
     }
 }
@@ -0,0 +1,159 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Space-Saving heavy hitters with exponentially decayed counts
+ * At most capacity keys are tracked; a new key replaces the smallest one and inherits its
+ * count, so every estimate overcounts by at most the evicted minimum. Decay uses forward
+ * weights (a weight of 2^(age/halfLife) relative to a landmark), so counts never have to be
+ * touched as time passes; they are rescaled only when the weights grow large.
+ * Not thread-safe.
+ */
+final class HeavyHitters<K, V> {
+
+    // Rescale once new weights would exceed 2^60, far from double overflow
+    private static final double MAX_EXPONENT = 60;
+
+    private final int capacity;
+    private final double halfLifeMillis;
+    private final Map<K, Entry<K, V>> index;
+    private final Entry<K, V>[] heap;  // min-heap by count
+    private int size;
+    private long landmarkMillis;
+
+    @SuppressWarnings("unchecked")
+    HeavyHitters(int capacity, long halfLifeMillis, long nowMillis) {
+        this.capacity = capacity;
+        this.halfLifeMillis = halfLifeMillis;
+        this.index = new HashMap<>(capacity * 2);
+        this.heap = (Entry<K, V>[]) new Entry[capacity];
+        this.landmarkMillis = nowMillis;
+    }
+
+    /**
+     * Add occurrences of a key observed at nowMillis
+     * @param payload latest value to report with the key, or null to keep the current one
+     */
+    void add(K key, V payload, long occurrences, long nowMillis) {
+        double exponent = (nowMillis - landmarkMillis) / halfLifeMillis;
+        if (exponent > MAX_EXPONENT) {
+            rescale(nowMillis);
+            exponent = 0;
+        }
+        double weight = occurrences * Math.pow(2, exponent);
+
+        Entry<K, V> entry = index.get(key);
+        if (entry != null) {
+            entry.count += weight;
+            if (payload != null) {
+                entry.payload = payload;
+            }
+            siftDown(entry.heapIndex);
+        } else if (size < capacity) {
+            entry = new Entry<>(key, payload, weight, 0);
+            index.put(key, entry);
+            entry.heapIndex = size;
+            heap[size++] = entry;
+            siftUp(entry.heapIndex);
+        } else {
+            // Replace the smallest key; its count is the possible overestimate of the new one
+            Entry<K, V> min = heap[0];
+            index.remove(min.key);
+            min.key = key;
+            min.payload = payload;
+            min.error = min.count;
+            min.count += weight;
+            index.put(key, min);
+            siftDown(0);
+        }
+    }
+
+    /**
+     * Largest keys with their counts decayed to nowMillis, highest first
+     */
+    List<Estimate<K, V>> top(int k, long nowMillis) {
+        Entry<K, V>[] entries = Arrays.copyOf(heap, size);
+        Arrays.sort(entries, Comparator.comparingDouble((Entry<K, V> entry) -> entry.count).reversed());
+        double decay = Math.pow(2, -(nowMillis - landmarkMillis) / halfLifeMillis);
+        List<Estimate<K, V>> result = new ArrayList<>(Math.min(k, size));
+        for (int i = 0; i < entries.length && result.size() < k; i++) {
+            Entry<K, V> entry = entries[i];
+            result.add(new Estimate<>(entry.key, entry.payload, entry.count * decay, entry.error * decay));
+        }
+        return result;
+    }
+
+    int size() {
+        return size;
+    }
+
+    // Uniform scaling keeps the heap order, so only the numbers change
+    private void rescale(long nowMillis) {
+        double factor = Math.pow(2, -(nowMillis - landmarkMillis) / halfLifeMillis);
+        for (int i = 0; i < size; i++) {
+            heap[i].count *= factor;
+            heap[i].error *= factor;
+        }
+        landmarkMillis = nowMillis;
+    }
+
+    private void siftUp(int i) {
+        Entry<K, V> entry = heap[i];
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (heap[parent].count <= entry.count) {
+                break;
+            }
+            place(heap[parent], i);
+            i = parent;
+        }
+        place(entry, i);
+    }
+
+    private void siftDown(int i) {
+        Entry<K, V> entry = heap[i];
+        int half = size >>> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < size && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (entry.count <= heap[child].count) {
+                break;
+            }
+            place(heap[child], i);
+            i = child;
+        }
+        place(entry, i);
+    }
+
+    private void place(Entry<K, V> entry, int i) {
+        heap[i] = entry;
+        entry.heapIndex = i;
+    }
+
+    /** A tracked key; count may overestimate the true decayed count by at most error */
+    record Estimate<K, V>(K key, V payload, double count, double error) {
+    }
+
+    private static final class Entry<K, V> {
+        private K key;
+        private V payload;
+        private double count;
+        private double error;
+        private int heapIndex;
+
+        private Entry(K key, V payload, double count, double error) {
+            this.key = key;
+            this.payload = payload;
+            this.count = count;
+            this.error = error;
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * Search analytics: the frontend reports searches here and reads the trending lists back
+ * Trending responses come from the published in-memory snapshot and carry its version as
+ * ETag, so a client that already has the current lists gets an empty 304. Versions restart
+ * with every boot and count independently on every replica, so the ETag also carries a
+ * random per-instance epoch.
+ */
+@RequestMapping(path = "api/v1/analytics")
+@RestController
+public class SearchAnalyticsController {
+
+    private final SearchAnalyticsService searchAnalyticsService;
+    private final TrendingTracker trendingTracker;
+    private final String epoch = Long.toString(ThreadLocalRandom.current().nextLong() & Long.MAX_VALUE, 36);
+
+    public SearchAnalyticsController(SearchAnalyticsService searchAnalyticsService, TrendingTracker trendingTracker) {
+        this.searchAnalyticsService = searchAnalyticsService;
+        this.trendingTracker = trendingTracker;
+    }
+
+    // Only counted in memory; the database is written by the periodic flush
+    @PostMapping("/search")
+    public ResponseEntity<?> recordSearch(@RequestBody SearchEvent event) {
+        if (!searchAnalyticsService.record(event)) {
+            return ResponseEntity.badRequest().body("Search term is required");
+        }
+        return ResponseEntity.accepted().build();
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<?> trending(@RequestParam(defaultValue = "week") String window,
+                                      @RequestParam(defaultValue = "10") int limit,
+                                      WebRequest request) {
+        return respond("terms", window, limit, request);
+    }
+
+    @GetMapping("/trending/movies")
+    public ResponseEntity<?> trendingMovies(@RequestParam(defaultValue = "week") String window,
+                                            @RequestParam(defaultValue = "10") int limit,
+                                            WebRequest request) {
+        return respond("movies", window, limit, request);
+    }
+
+    private ResponseEntity<?> respond(String list, String window, int limit, WebRequest request) {
+        Optional<TrendingWindow> parsed = TrendingWindow.parse(window);
+        if (parsed.isEmpty() || limit < 1 || limit > trendingTracker.topK()) {
+            return ResponseEntity.badRequest().body("Invalid trending request");
+        }
+
+        TrendingSnapshot snapshot = searchAnalyticsService.trending();
+        String etag = "\"" + list + "-" + parsed.get().name().toLowerCase(Locale.ROOT) + "-" + limit + "-" + epoch
+                + "-" + snapshot.version() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null; // 304 with the ETag already written
+        }
+
+        List<?> rows = list.equals("terms") ? snapshot.terms(parsed.get()) : snapshot.movies(parsed.get());
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .body(rows.subList(0, Math.min(limit, rows.size())));
+    }
+}
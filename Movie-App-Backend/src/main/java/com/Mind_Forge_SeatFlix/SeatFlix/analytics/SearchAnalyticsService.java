@@ -0,0 +1,357 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Search counting with in-memory counters and periodic batched writes
+ * A search only increments a per-term LongAdder, so concurrent searches for the same term
+ * never contend on a lock or a row. Every flush interval the counters' growth since the
+ * last successful write is applied to search_terms with one batched UPDATE and one batched
+ * INSERT per chunk; a failed write is simply retried with the next flush, so counts stay exact.
+ * The same deltas feed the {@link TrendingTracker}, which serves the trending lists.
+ */
+@Service
+public class SearchAnalyticsService {
+
+    private static final Logger log = LoggerFactory.getLogger(SearchAnalyticsService.class);
+
+    public static final int MAX_TERM_LENGTH = 100;
+    private static final int MAX_TITLE_LENGTH = 255;
+    // Decayed counts keep falling without new searches, so lists are republished at least this often
+    private static final long REPUBLISH_INTERVAL_MILLIS = 60_000;
+    private static final String POSTER_BASE_URL = "https://image.tmdb.org/t/p/w500";
+    private static final Pattern POSTER_PATH = Pattern.compile("/[A-Za-z0-9._-]{1,100}");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final String UPDATE_SQL =
+            "UPDATE search_terms SET search_count = search_count + ?, movie_id = COALESCE(?, movie_id), "
+                    + "poster_url = COALESCE(?, poster_url), title = COALESCE(?, title), last_searched = ? "
+                    + "WHERE term = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO search_terms (term, search_count, movie_id, poster_url, title, last_searched) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private final SearchTermRepository searchTermRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxTerms;
+    private final int batchSize;
+    private final int idleFlushes;
+    private final TrendingTracker trendingTracker;
+
+    private final Map<String, TermCounter> counters = new ConcurrentHashMap<>();
+    // Counters evicted by the previous flush; anything added to them after eviction is moved back
+    private List<TermCounter> retired = new ArrayList<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Flush thread only: the all-time lists are reread after writes, and once at startup
+    private boolean allTimeStale = true;
+    private long lastPublishMillis;
+
+    private final Counter searches;
+    private final Counter dropped;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    public SearchAnalyticsService(SearchTermRepository searchTermRepository, TrendingTracker trendingTracker,
+                                  DataSource dataSource, PlatformTransactionManager transactionManager,
+                                  MeterRegistry meterRegistry,
+                                  @Value("${app.analytics.max-terms:100000}") int maxTerms,
+                                  @Value("${app.analytics.batch-size:500}") int batchSize,
+                                  @Value("${app.analytics.idle-flushes:12}") int idleFlushes) {
+        this.searchTermRepository = searchTermRepository;
+        this.trendingTracker = trendingTracker;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxTerms = maxTerms;
+        this.batchSize = batchSize;
+        this.idleFlushes = idleFlushes;
+
+        this.searches = Counter.builder("seatflix.analytics.searches").register(meterRegistry);
+        this.dropped = Counter.builder("seatflix.analytics.dropped")
+                .description("Searches for new terms ignored because max-terms counters were pending")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("seatflix.analytics.flush.failures").register(meterRegistry);
+        this.flushTimer = Timer.builder("seatflix.analytics.flush").register(meterRegistry);
+        Gauge.builder("seatflix.analytics.terms", counters, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Count one search
+     * @return false if the search term is blank
+     */
+    public boolean record(SearchEvent event) {
+        String term = normalize(event.searchTerm());
+        if (term == null) {
+            return false;
+        }
+
+        TermCounter counter = counters.get(term);
+        if (counter == null) {
+            if (counters.size() >= maxTerms) {
+                dropped.increment();
+                return true;
+            }
+            counter = counters.computeIfAbsent(term, TermCounter::new);
+        }
+        counter.count.increment();
+        if (event.movieId() != null) {
+            counter.latest = new ResultInfo(event.movieId(), posterUrl(event.posterPath()), title(event.title()));
+        }
+        counter.lastSearchedMillis = System.currentTimeMillis();
+        searches.increment();
+        return true;
+    }
+
+    /**
+     * Trending lists of every window, as last published by the flush
+     */
+    public TrendingSnapshot trending() {
+        return trendingTracker.current();
+    }
+
+    @Scheduled(fixedDelayString = "${app.analytics.flush-interval-ms:5000}")
+    void flush() {
+        flushLock.lock();
+        long started = System.nanoTime();
+        try {
+            reclaimRetired();
+            long now = System.currentTimeMillis();
+
+            // The trending sketches see every search once, whether or not the database write succeeds
+            boolean fed = false;
+            List<PendingWrite> pending = new ArrayList<>();
+            for (TermCounter counter : counters.values()) {
+                long total = counter.count.sum();
+                ResultInfo latest = counter.latest;
+                if (total > counter.tracked) {
+                    trendingTracker.record(counter.term, latest == null ? null : latest.movieId(),
+                            latest == null ? null : latest.posterUrl(), latest == null ? null : latest.title(),
+                            total - counter.tracked, now);
+                    counter.tracked = total;
+                    fed = true;
+                }
+                long delta = total - counter.flushed;
+                if (delta > 0) {
+                    counter.idle = 0;
+                    pending.add(new PendingWrite(counter, delta, latest, counter.lastSearchedMillis));
+                } else if (++counter.idle >= idleFlushes && counters.remove(counter.term, counter)) {
+                    retired.add(counter);
+                }
+            }
+
+            boolean allTimeRead = (writeAll(pending) || allTimeStale) && refreshAllTime();
+            if (fed || allTimeRead || now - lastPublishMillis >= REPUBLISH_INTERVAL_MILLIS) {
+                trendingTracker.publish(now);
+                lastPublishMillis = now;
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            flushLock.unlock();
+        }
+    }
+
+    // Returns true if at least one chunk was written
+    private boolean writeAll(List<PendingWrite> pending) {
+        // Same row order on every instance, so concurrent flushes cannot deadlock
+        pending.sort(Comparator.comparing(write -> write.counter().term));
+        boolean written = false;
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<PendingWrite> chunk = pending.subList(from, Math.min(from + batchSize, pending.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(chunk));
+                for (PendingWrite write : chunk) {
+                    write.counter().flushed += write.delta();
+                }
+                written = true;
+            } catch (DataAccessException e) {
+                // Nothing is lost: the deltas stay in the counters and go out with the next flush
+                flushFailures.increment();
+                log.warn("Search analytics flush of {} terms failed: {}", chunk.size(), e.getMessage());
+            }
+        }
+        return written;
+    }
+
+    // The all-time window is the only one read from the database, and only here
+    private boolean refreshAllTime() {
+        try {
+            Limit limit = Limit.of(trendingTracker.topK());
+            trendingTracker.setAllTime(searchTermRepository.findTrending(limit),
+                    searchTermRepository.findTrendingMovies(limit));
+            allTimeStale = false;
+            return true;
+        } catch (DataAccessException e) {
+            allTimeStale = true;
+            log.warn("Could not read all-time trending searches: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    // An increment can land on a counter just after it was evicted; carry it over to the live one
+    private void reclaimRetired() {
+        for (TermCounter old : retired) {
+            long late = old.count.sum() - old.flushed;
+            if (late > 0) {
+                TermCounter live = counters.computeIfAbsent(old.term, TermCounter::new);
+                live.count.add(late);
+                if (live.latest == null) {
+                    live.latest = old.latest;
+                }
+                live.lastSearchedMillis = Math.max(live.lastSearchedMillis, old.lastSearchedMillis);
+            }
+        }
+        retired = new ArrayList<>();
+    }
+
+    // Update the rows that exist, insert the rest; both as single JDBC batches
+    private void write(List<PendingWrite> chunk) {
+        String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+        Set<String> existing = new HashSet<>(jdbcTemplate.queryForList(
+                "SELECT term FROM search_terms WHERE term IN (" + placeholders + ")",
+                String.class, chunk.stream().map(write -> write.counter().term).toArray()));
+
+        List<PendingWrite> updates = new ArrayList<>(existing.size());
+        List<PendingWrite> inserts = new ArrayList<>(chunk.size() - existing.size());
+        for (PendingWrite write : chunk) {
+            (existing.contains(write.counter().term) ? updates : inserts).add(write);
+        }
+
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingWrite write = updates.get(i);
+                    ps.setLong(1, write.delta());
+                    setResult(ps, 2, write.latest());
+                    ps.setTimestamp(5, new Timestamp(write.lastSearchedMillis()));
+                    ps.setString(6, write.counter().term);
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return updates.size();
+                }
+            });
+        }
+        if (!inserts.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    PendingWrite write = inserts.get(i);
+                    ps.setString(1, write.counter().term);
+                    ps.setLong(2, write.delta());
+                    setResult(ps, 3, write.latest());
+                    ps.setTimestamp(6, new Timestamp(write.lastSearchedMillis()));
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return inserts.size();
+                }
+            });
+        }
+    }
+
+    // movie_id, poster_url and title starting at the given parameter index
+    private static void setResult(PreparedStatement ps, int index, ResultInfo latest) throws SQLException {
+        if (latest == null) {
+            ps.setNull(index, Types.BIGINT);
+            ps.setNull(index + 1, Types.VARCHAR);
+            ps.setNull(index + 2, Types.VARCHAR);
+        } else {
+            ps.setLong(index, latest.movieId());
+            ps.setString(index + 1, latest.posterUrl());
+            ps.setString(index + 2, latest.title());
+        }
+    }
+
+    /**
+     * Normalize a search term: trimmed, lower case, single spaces, at most MAX_TERM_LENGTH characters
+     * @return the normalized term, or null if it is blank
+     */
+    static String normalize(String searchTerm) {
+        if (searchTerm == null) {
+            return null;
+        }
+        String term = WHITESPACE.matcher(searchTerm.strip()).replaceAll(" ").toLowerCase(Locale.ROOT);
+        if (term.isEmpty()) {
+            return null;
+        }
+        return term.length() > MAX_TERM_LENGTH ? term.substring(0, MAX_TERM_LENGTH).strip() : term;
+    }
+
+    // Only TMDB poster paths are accepted, so the stored URL always points at the TMDB image CDN
+    private static String posterUrl(String posterPath) {
+        return posterPath != null && POSTER_PATH.matcher(posterPath).matches() ? POSTER_BASE_URL + posterPath : null;
+    }
+
+    private static String title(String title) {
+        if (title == null || title.isBlank()) {
+            return null;
+        }
+        String stripped = title.strip();
+        return stripped.length() > MAX_TITLE_LENGTH ? stripped.substring(0, MAX_TITLE_LENGTH) : stripped;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private static final class TermCounter {
+        private final String term;
+        private final LongAdder count = new LongAdder();
+        private volatile ResultInfo latest;
+        private volatile long lastSearchedMillis;
+        // Only touched by the flush, under flushLock
+        private long flushed;
+        private long tracked;
+        private int idle;
+
+        private TermCounter(String term) {
+            this.term = term;
+        }
+    }
+
+    private record ResultInfo(Long movieId, String posterUrl, String title) {
+    }
+
+    private record PendingWrite(TermCounter counter, long delta, ResultInfo latest, long lastSearchedMillis) {
+    }
+}
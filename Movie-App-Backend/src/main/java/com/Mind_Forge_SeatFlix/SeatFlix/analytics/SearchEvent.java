@@ -0,0 +1,7 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+/**
+ * A search reported by the frontend, with the top result it returned
+ */
+public record SearchEvent(String searchTerm, Long movieId, String posterPath, String title) {
+}
@@ -0,0 +1,35 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.entity.SearchTerm;
+
+/**
+ * All-time side of the search analytics; writes go through batched JDBC in SearchAnalyticsService
+ */
+@Repository
+public interface SearchTermRepository extends JpaRepository<SearchTerm, Long> {
+
+    /**
+     * Most searched terms, highest count first
+     * @param limit maximum number of rows
+     * @return trending rows, never managed entities
+     */
+    @Query("SELECT new com.Mind_Forge_SeatFlix.SeatFlix.analytics.TrendingSearch(s.term, s.searchCount, s.movieId, s.posterUrl, s.title) "
+            + "FROM SearchTerm s ORDER BY s.searchCount DESC, s.term")
+    List<TrendingSearch> findTrending(Limit limit);
+
+    /**
+     * Movies by the total searches they were the top result of, highest first
+     * @param limit maximum number of rows
+     * @return trending movie rows
+     */
+    @Query("SELECT new com.Mind_Forge_SeatFlix.SeatFlix.analytics.TrendingMovie(s.movieId, MAX(s.title), MAX(s.posterUrl), SUM(s.searchCount)) "
+            + "FROM SearchTerm s WHERE s.movieId IS NOT NULL GROUP BY s.movieId ORDER BY SUM(s.searchCount) DESC, s.movieId")
+    List<TrendingMovie> findTrendingMovies(Limit limit);
+}
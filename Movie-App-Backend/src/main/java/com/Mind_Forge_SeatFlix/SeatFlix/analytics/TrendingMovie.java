@@ -0,0 +1,7 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+/**
+ * One row of the trending movies list: searches whose top result was this movie
+ */
+public record TrendingMovie(Long movieId, String title, String posterUrl, long count) {
+}
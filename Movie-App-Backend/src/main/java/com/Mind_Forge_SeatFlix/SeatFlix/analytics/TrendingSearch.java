@@ -0,0 +1,7 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+/**
+ * One row of the trending searches list
+ */
+public record TrendingSearch(String term, long count, Long movieId, String posterUrl, String title) {
+}
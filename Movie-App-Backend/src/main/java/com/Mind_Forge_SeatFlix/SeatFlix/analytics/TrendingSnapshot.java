@@ -0,0 +1,21 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable trending lists of every window, replaced as a whole when they change
+ * @param version bumped whenever any list changes; used as the ETag
+ */
+public record TrendingSnapshot(long version,
+                               Map<TrendingWindow, List<TrendingSearch>> terms,
+                               Map<TrendingWindow, List<TrendingMovie>> movies) {
+
+    public List<TrendingSearch> terms(TrendingWindow window) {
+        return terms.getOrDefault(window, List.of());
+    }
+
+    public List<TrendingMovie> movies(TrendingWindow window) {
+        return movies.getOrDefault(window, List.of());
+    }
+}
@@ -0,0 +1,123 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Trending search terms and movies per time window, kept up to date incrementally
+ * Every decayed window has a bounded heavy-hitters sketch for terms and one for movies,
+ * fed with the per-term deltas of each analytics flush. The published top-K lists are an
+ * immutable {@link TrendingSnapshot}, so reads never sort, lock or touch the database.
+ * Only the analytics flush thread calls the mutating methods.
+ */
+@Component
+public class TrendingTracker {
+
+    private final int topK;
+    private final Map<TrendingWindow, HeavyHitters<String, Result>> termSketches = new EnumMap<>(TrendingWindow.class);
+    private final Map<TrendingWindow, HeavyHitters<Long, Result>> movieSketches = new EnumMap<>(TrendingWindow.class);
+    private List<TrendingSearch> allTimeTerms = List.of();
+    private List<TrendingMovie> allTimeMovies = List.of();
+    private volatile TrendingSnapshot snapshot = new TrendingSnapshot(0, Map.of(), Map.of());
+
+    public TrendingTracker(@Value("${app.analytics.trending.capacity:1000}") int capacity,
+                           @Value("${app.analytics.trending.top-k:20}") int topK) {
+        this.topK = topK;
+        long now = System.currentTimeMillis();
+        for (TrendingWindow window : TrendingWindow.values()) {
+            if (window.halfLife() != null) {
+                long halfLifeMillis = window.halfLife().toMillis();
+                termSketches.put(window, new HeavyHitters<>(capacity, halfLifeMillis, now));
+                movieSketches.put(window, new HeavyHitters<>(capacity, halfLifeMillis, now));
+            }
+        }
+    }
+
+    /** Latest published lists */
+    public TrendingSnapshot current() {
+        return snapshot;
+    }
+
+    /** Longest list published per window */
+    public int topK() {
+        return topK;
+    }
+
+    /**
+     * Count searches for a term, with the top result of its latest search if there was one
+     */
+    void record(String term, Long movieId, String posterUrl, String title, long searches, long nowMillis) {
+        Result result = movieId == null ? null : new Result(movieId, posterUrl, title);
+        for (HeavyHitters<String, Result> sketch : termSketches.values()) {
+            sketch.add(term, result, searches, nowMillis);
+        }
+        if (result != null) {
+            for (HeavyHitters<Long, Result> sketch : movieSketches.values()) {
+                sketch.add(movieId, result, searches, nowMillis);
+            }
+        }
+    }
+
+    /** Replace the all-time lists, read from search_terms */
+    void setAllTime(List<TrendingSearch> terms, List<TrendingMovie> movies) {
+        this.allTimeTerms = List.copyOf(terms);
+        this.allTimeMovies = List.copyOf(movies);
+    }
+
+    /**
+     * Rebuild the top-K lists and publish them if anything changed
+     * @return true if a new snapshot was published
+     */
+    boolean publish(long nowMillis) {
+        Map<TrendingWindow, List<TrendingSearch>> terms = new EnumMap<>(TrendingWindow.class);
+        Map<TrendingWindow, List<TrendingMovie>> movies = new EnumMap<>(TrendingWindow.class);
+        termSketches.forEach((window, sketch) -> terms.put(window, topTerms(sketch, nowMillis)));
+        movieSketches.forEach((window, sketch) -> movies.put(window, topMovies(sketch, nowMillis)));
+        terms.put(TrendingWindow.ALL, allTimeTerms);
+        movies.put(TrendingWindow.ALL, allTimeMovies);
+
+        TrendingSnapshot previous = snapshot;
+        if (terms.equals(previous.terms()) && movies.equals(previous.movies())) {
+            return false;
+        }
+        snapshot = new TrendingSnapshot(previous.version() + 1, Map.copyOf(terms), Map.copyOf(movies));
+        return true;
+    }
+
+    // Counts are reported rounded; keys that have decayed below half a search are left out
+    private List<TrendingSearch> topTerms(HeavyHitters<String, Result> sketch, long nowMillis) {
+        List<TrendingSearch> rows = new ArrayList<>(topK);
+        for (HeavyHitters.Estimate<String, Result> estimate : sketch.top(topK, nowMillis)) {
+            long count = Math.round(estimate.count());
+            if (count == 0) {
+                break;
+            }
+            Result result = estimate.payload();
+            rows.add(result == null
+                    ? new TrendingSearch(estimate.key(), count, null, null, null)
+                    : new TrendingSearch(estimate.key(), count, result.movieId(), result.posterUrl(), result.title()));
+        }
+        return List.copyOf(rows);
+    }
+
+    private List<TrendingMovie> topMovies(HeavyHitters<Long, Result> sketch, long nowMillis) {
+        List<TrendingMovie> rows = new ArrayList<>(topK);
+        for (HeavyHitters.Estimate<Long, Result> estimate : sketch.top(topK, nowMillis)) {
+            long count = Math.round(estimate.count());
+            if (count == 0) {
+                break;
+            }
+            Result result = estimate.payload();
+            rows.add(new TrendingMovie(estimate.key(), result.title(), result.posterUrl(), count));
+        }
+        return List.copyOf(rows);
+    }
+
+    private record Result(Long movieId, String posterUrl, String title) {
+    }
+}
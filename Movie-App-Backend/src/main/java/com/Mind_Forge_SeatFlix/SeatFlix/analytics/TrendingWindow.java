@@ -0,0 +1,37 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * Time windows of the trending lists
+ * Decayed windows weigh a search by half for every window length that has passed since;
+ * ALL is the plain total stored in search_terms.
+ */
+public enum TrendingWindow {
+    HOUR(Duration.ofHours(1)),
+    DAY(Duration.ofDays(1)),
+    WEEK(Duration.ofDays(7)),
+    ALL(null);
+
+    private final Duration halfLife;
+
+    TrendingWindow(Duration halfLife) {
+        this.halfLife = halfLife;
+    }
+
+    /** Half-life of the decay, or null for ALL */
+    public Duration halfLife() {
+        return halfLife;
+    }
+
+    public static Optional<TrendingWindow> parse(String value) {
+        for (TrendingWindow window : values()) {
+            if (window.name().equals(value.toUpperCase(Locale.ROOT))) {
+                return Optional.of(window);
+            }
+        }
+        return Optional.empty();
+    }
+}
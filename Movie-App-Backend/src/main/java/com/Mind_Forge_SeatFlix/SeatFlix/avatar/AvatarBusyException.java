@@ -0,0 +1,18 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+/**
+ * Thrown when the avatar processing queue is full and the upload should be retried later
+ */
+public class AvatarBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public AvatarBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
@@ -0,0 +1,171 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Serves avatar files
+ * Avatar URLs never change content (content hash or random version in the path), so
+ * responses are cacheable forever, carry a strong ETag and answer a matching If-None-Match
+ * with 304 once the file is known to exist.
+ * Files are read through {@link AvatarStorage}; small thumbnails are served from memory,
+ * larger files use Tomcat sendfile when available and FileChannel.transferTo otherwise.
+ */
+@RestController
+public class AvatarController {
+
+    private static final String CACHE_FOREVER = "public, max-age=31536000, immutable";
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final AvatarStorage storage;
+    private final int memoryCacheMaxFileBytes;
+    private final Cache<String, byte[]> hotFiles;
+
+    public AvatarController(AvatarStorage storage, MeterRegistry meterRegistry,
+                            @Value("${app.avatars.memory-cache-bytes:16777216}") long memoryCacheBytes,
+                            @Value("${app.avatars.memory-cache-max-file-bytes:65536}") int memoryCacheMaxFileBytes) {
+        this.storage = storage;
+        this.memoryCacheMaxFileBytes = memoryCacheMaxFileBytes;
+        this.hotFiles = Caffeine.newBuilder()
+                .maximumWeight(memoryCacheBytes)
+                .weigher((String key, byte[] bytes) -> bytes.length)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, hotFiles, "avatars.hot");
+    }
+
+    @GetMapping("/uploads/avatars/{dir}/{file}")
+    public void getAvatar(@PathVariable("dir") String dir, @PathVariable("file") String file,
+                          HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!AvatarService.isSafeSegment(dir) || !AvatarService.isSafeSegment(file)) {
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        String key = AvatarService.key(dir, file);
+        String etag = "\"" + key + "\"";
+        byte[] cached = hotFiles.getIfPresent(key);
+        Path path = cached == null ? storage.fetch(key) : null;
+        if (cached == null && path == null) {
+            // A deleted avatar must not keep answering 304 to clients that still hold its ETag
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        if (matchesEtag(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            writeCachingHeaders(response, etag);
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+
+        if (cached != null) {
+            writeBytes(response, etag, file, cached);
+            return;
+        }
+
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (NoSuchFileException e) {
+            // Deleted between fetch and read
+            response.setStatus(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        if (size <= memoryCacheMaxFileBytes) {
+            byte[] bytes = Files.readAllBytes(path);
+            hotFiles.put(key, bytes);
+            writeBytes(response, etag, file, bytes);
+            return;
+        }
+
+        writeCachingHeaders(response, etag);
+        response.setContentType(contentType(file));
+        response.setContentLengthLong(size);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            // Tomcat writes the file with sendfile after this method returns
+            request.setAttribute(SENDFILE_FILENAME, path.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+
+    private static void writeBytes(HttpServletResponse response, String etag, String file, byte[] bytes)
+            throws IOException {
+        writeCachingHeaders(response, etag);
+        response.setContentType(contentType(file));
+        response.setContentLength(bytes.length);
+        try (OutputStream out = response.getOutputStream()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void writeCachingHeaders(HttpServletResponse response, String etag) {
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_FOREVER);
+    }
+
+    private static boolean matchesEtag(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.startsWith("W/")) {
+                value = value.substring(2);
+            }
+            if (value.equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String contentType(String file) {
+        String name = file.toLowerCase();
+        if (name.endsWith(".png")) {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (name.endsWith(".jpg") || name.endsWith(".jpeg")) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (name.endsWith(".gif")) {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        return MediaType.APPLICATION_OCTET_STREAM_VALUE;
+    }
+}
@@ -0,0 +1,31 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+import java.util.Optional;
+
+/**
+ * Image formats accepted for avatars, detected from the file's magic bytes
+ * rather than the client-supplied Content-Type header.
+ */
+public enum AvatarFormat {
+    JPEG, PNG, GIF, BMP;
+
+    /** Number of leading bytes needed by {@link #sniff(byte[], int)} */
+    public static final int HEADER_LENGTH = 12;
+
+    public static Optional<AvatarFormat> sniff(byte[] header, int length) {
+        if (length >= 3 && (header[0] & 0xFF) == 0xFF && (header[1] & 0xFF) == 0xD8 && (header[2] & 0xFF) == 0xFF) {
+            return Optional.of(JPEG);
+        }
+        if (length >= 8 && (header[0] & 0xFF) == 0x89 && header[1] == 'P' && header[2] == 'N' && header[3] == 'G'
+                && header[4] == 0x0D && header[5] == 0x0A && header[6] == 0x1A && header[7] == 0x0A) {
+            return Optional.of(PNG);
+        }
+        if (length >= 6 && header[0] == 'G' && header[1] == 'I' && header[2] == 'F' && header[3] == '8') {
+            return Optional.of(GIF);
+        }
+        if (length >= 2 && header[0] == 'B' && header[1] == 'M') {
+            return Optional.of(BMP);
+        }
+        return Optional.empty();
+    }
+}
@@ -0,0 +1,136 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UsersService;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Deletes avatar directories that no profile points at, safely across replicas
+ * A released directory becomes a row in avatar_gc_candidates instead of being deleted on
+ * the spot. An upload that reuses it deletes the row in the transaction that references it
+ * again; the sweep deletes files only for rows older than the grace period, while holding a
+ * row lock, so the two serialize in the database whichever instances they run on. An upload
+ * that loses the race finds the files gone after its commit and renders them again.
+ */
+@Component
+public class AvatarGarbageCollector {
+
+    private static final Logger log = LoggerFactory.getLogger(AvatarGarbageCollector.class);
+
+    private static final String REFRESH_SQL =
+            "UPDATE avatar_gc_candidates SET profile_pic = ?, released_at_millis = ? WHERE avatar_dir = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO avatar_gc_candidates (avatar_dir, profile_pic, released_at_millis) VALUES (?, ?, ?)";
+    private static final String CLAIM_SQL = "DELETE FROM avatar_gc_candidates WHERE avatar_dir = ?";
+    private static final String DUE_SQL =
+            "SELECT avatar_dir FROM avatar_gc_candidates WHERE released_at_millis < ? ORDER BY released_at_millis";
+    private static final String LOCK_SQL =
+            "SELECT profile_pic FROM avatar_gc_candidates WHERE avatar_dir = ? AND released_at_millis < ? FOR UPDATE";
+
+    private final AvatarStorage storage;
+    private final UsersService usersService;
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate dueQuery;
+    private final TransactionTemplate transactionTemplate;
+    private final long graceMillis;
+    private final Counter deleted;
+
+    public AvatarGarbageCollector(AvatarStorage storage, UsersService usersService, DataSource dataSource,
+                                  PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                  @Value("${app.avatars.gc.grace-ms:600000}") long graceMillis,
+                                  @Value("${app.avatars.gc.batch-size:100}") int batchSize) {
+        this.storage = storage;
+        this.usersService = usersService;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.dueQuery = new JdbcTemplate(dataSource);
+        this.dueQuery.setMaxRows(batchSize);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.graceMillis = graceMillis;
+        this.deleted = Counter.builder("seatflix.avatar.gc.deleted")
+                .description("Avatar directories deleted after no profile referenced them for the grace period")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Schedule a directory for deletion; the sweep re-checks that nothing references it
+     * @param avatarDir first path segment of the avatar URL
+     * @param profilePic the URL that was released
+     */
+    public void release(String avatarDir, String profilePic) {
+        long now = System.currentTimeMillis();
+        if (jdbcTemplate.update(REFRESH_SQL, profilePic, now, avatarDir) > 0) {
+            return;
+        }
+        try {
+            jdbcTemplate.update(INSERT_SQL, avatarDir, profilePic, now);
+        } catch (DuplicateKeyException e) {
+            // Released by another instance at the same time
+        }
+    }
+
+    /**
+     * Take a directory off the deletion list and reference it, in one transaction
+     * Blocks while a sweep is deleting the directory; the caller must check afterwards that
+     * its files still exist.
+     */
+    public void claim(String avatarDir, Runnable reference) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.update(CLAIM_SQL, avatarDir);
+            reference.run();
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${app.avatars.gc.interval-ms:60000}")
+    void sweep() {
+        long cutoff = System.currentTimeMillis() - graceMillis;
+        List<String> due;
+        try {
+            due = dueQuery.queryForList(DUE_SQL, String.class, cutoff);
+        } catch (DataAccessException e) {
+            log.warn("Avatar sweep failed: {}", e.getMessage());
+            return;
+        }
+        for (String avatarDir : due) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> collect(avatarDir, cutoff));
+            } catch (DataAccessException | UncheckedIOException e) {
+                // The row stays and is retried with the next sweep
+                log.warn("Could not delete avatar directory {}: {}", avatarDir, e.getMessage());
+            }
+        }
+    }
+
+    private void collect(String avatarDir, long cutoff) {
+        List<String> locked = jdbcTemplate.queryForList(LOCK_SQL, String.class, avatarDir, cutoff);
+        if (locked.isEmpty()) {
+            return; // claimed, released again or collected elsewhere since the query
+        }
+        if (!usersService.isProfilePicInUse(locked.get(0))) {
+            try {
+                storage.deletePrefix(avatarDir + "/");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            deleted.increment();
+        }
+        jdbcTemplate.update(CLAIM_SQL, avatarDir);
+    }
+}
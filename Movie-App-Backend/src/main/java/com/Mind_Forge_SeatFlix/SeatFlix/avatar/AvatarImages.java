@@ -0,0 +1,109 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Decode, square-crop, downscale and re-encode avatar images
+ */
+final class AvatarImages {
+
+    private AvatarImages() {
+    }
+
+    /**
+     * Decode the first frame, refusing images whose declared size exceeds maxPixels
+     * before any pixel data is allocated.
+     */
+    static BufferedImage decode(InputStream input, long maxPixels) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(input)) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) {
+                throw new IOException("Unsupported image format");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("Image dimensions too large");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Center-crop to a square and scale down to size x size pixels
+     * Halves the image repeatedly first, which keeps bilinear filtering sharp for large sources.
+     */
+    static BufferedImage squareThumbnail(BufferedImage source, int size, boolean alpha) {
+        int side = Math.min(source.getWidth(), source.getHeight());
+        BufferedImage current = source.getSubimage(
+                (source.getWidth() - side) / 2, (source.getHeight() - side) / 2, side, side);
+
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+        int currentSize = side;
+        do {
+            currentSize = Math.max(size, currentSize / 2);
+            if (currentSize < size * 2 && currentSize != size) {
+                currentSize = size;
+            }
+            current = scale(current, currentSize, type);
+        } while (currentSize != size);
+        return current;
+    }
+
+    private static BufferedImage scale(BufferedImage source, int size, int type) {
+        BufferedImage target = new BufferedImage(size, size, type);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.drawImage(source, 0, 0, size, size, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    /**
+     * Encode as PNG when the image has transparency, otherwise as JPEG with the given quality
+     */
+    static void write(BufferedImage image, boolean alpha, float jpegQuality, OutputStream output) throws IOException {
+        if (alpha) {
+            ImageIO.write(image, "png", output);
+            return;
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(output)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    static String extension(boolean alpha) {
+        return alpha ? "png" : "jpg";
+    }
+}
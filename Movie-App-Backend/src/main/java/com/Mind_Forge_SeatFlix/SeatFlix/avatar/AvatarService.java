@@ -0,0 +1,280 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.VirtualThreadTaskExecutor;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UserProfile;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UsersService;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Asynchronous, content-addressed avatar pipeline
+ * The upload request only sniffs the format and spools the file; hashing, decoding,
+ * resizing into {@link #SIZES} and re-encoding happen on a bounded worker pool.
+ * Avatars are stored in {@link AvatarStorage} under {sha256}/{size}.{ext}, so identical
+ * images are stored once; a previous avatar is handed to {@link AvatarGarbageCollector}.
+ */
+@Service
+public class AvatarService {
+
+    private static final Logger log = LoggerFactory.getLogger(AvatarService.class);
+
+    /** Square sizes generated for every avatar, in pixels */
+    public static final int[] SIZES = {64, 128, 256};
+    private static final int PROFILE_SIZE = 256;
+    static final String AVATAR_URL_PREFIX = "/uploads/avatars/";
+    private static final int LOCK_STRIPES = 64;
+
+    private final UsersService usersService;
+    private final AvatarStorage storage;
+    private final AvatarGarbageCollector garbageCollector;
+    private final Path spoolDir;
+    private final long maxPixels;
+    private final float jpegQuality;
+    private final long retryAfterSeconds;
+    private final ThreadPoolExecutor executor;
+    private final Timer processingTimer;
+
+    // One upload at a time per user; always taken before a content lock, never after
+    private final ReentrantLock[] userLocks = new ReentrantLock[LOCK_STRIPES];
+    // Guards render and reference of one content-addressed directory on this instance
+    private final ReentrantLock[] contentLocks = new ReentrantLock[LOCK_STRIPES];
+
+    public AvatarService(UsersService usersService, AvatarStorage storage, AvatarGarbageCollector garbageCollector,
+                         MeterRegistry meterRegistry,
+                         Environment environment,
+                         @Value("${app.avatars.upload-dir:uploads}") String uploadDir,
+                         @Value("${app.avatars.worker-threads:2}") int workerThreads,
+                         @Value("${app.avatars.queue-capacity:32}") int queueCapacity,
+                         @Value("${app.avatars.max-pixels:40000000}") long maxPixels,
+                         @Value("${app.avatars.jpeg-quality:0.85}") float jpegQuality,
+                         @Value("${app.avatars.retry-after-seconds:2}") long retryAfterSeconds) throws IOException {
+        this.usersService = usersService;
+        this.storage = storage;
+        this.garbageCollector = garbageCollector;
+        this.spoolDir = Files.createDirectories(Paths.get(uploadDir).resolve("tmp"));
+        this.maxPixels = maxPixels;
+        this.jpegQuality = jpegQuality;
+        this.retryAfterSeconds = retryAfterSeconds;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            userLocks[i] = new ReentrantLock();
+            contentLocks[i] = new ReentrantLock();
+        }
+
+        // Workers block on storage I/O as well as decoding, so they use virtual threads when the
+        // virtual profile is active; the pool size still bounds how many images are decoded at once
+        ThreadFactory threadFactory;
+        if (Threading.VIRTUAL.isActive(environment)) {
+            threadFactory = new VirtualThreadTaskExecutor("avatar-worker-").getVirtualThreadFactory();
+        } else {
+            AtomicInteger threadCounter = new AtomicInteger();
+            threadFactory = runnable -> {
+                Thread thread = new Thread(runnable, "avatar-worker-" + threadCounter.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            };
+        }
+        this.executor = new ThreadPoolExecutor(workerThreads, workerThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), threadFactory, new ThreadPoolExecutor.AbortPolicy());
+
+        this.processingTimer = Timer.builder("seatflix.avatar.processing")
+                .publishPercentiles(0.5, 0.95)
+                .register(meterRegistry);
+        Gauge.builder("seatflix.avatar.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+    }
+
+    /**
+     * Validate and spool an upload, then queue it for processing
+     * @throws IllegalArgumentException if the content is not a supported image
+     * @throws AvatarBusyException if the processing queue is full
+     */
+    public void submit(Long userId, MultipartFile file) throws IOException {
+        byte[] header = new byte[AvatarFormat.HEADER_LENGTH];
+        int read;
+        try (InputStream in = file.getInputStream()) {
+            read = in.readNBytes(header, 0, header.length);
+        }
+        if (AvatarFormat.sniff(header, read).isEmpty()) {
+            throw new IllegalArgumentException("Only JPEG, PNG, GIF or BMP images are allowed");
+        }
+
+        Path spooled = Files.createTempFile(spoolDir, "avatar-" + userId + "-", ".upload");
+        file.transferTo(spooled);
+        try {
+            executor.execute(() -> process(userId, spooled));
+        } catch (RejectedExecutionException e) {
+            Files.deleteIfExists(spooled);
+            throw new AvatarBusyException("Avatar processing queue is full", retryAfterSeconds);
+        }
+    }
+
+    private void process(Long userId, Path spooled) {
+        ReentrantLock userLock = stripe(userLocks, userId);
+        userLock.lock();
+        long started = System.nanoTime();
+        try {
+            // Content address: identical uploads map to the same directory and are processed once
+            String hash = sha256Hex(spooled);
+
+            String fileUrl;
+            String previousUrl;
+            ReentrantLock hashLock = stripe(contentLocks, hash);
+            hashLock.lock();
+            try {
+                String extension = existingExtension(hash);
+                if (extension == null) {
+                    extension = render(spooled, hash);
+                }
+                fileUrl = AVATAR_URL_PREFIX + hash + "/" + fileName(PROFILE_SIZE, extension);
+
+                UserProfile current = usersService.getUserProfile(userId);
+                previousUrl = current == null ? null : current.profilePic();
+                String profilePic = fileUrl;
+                garbageCollector.claim(hash, () -> usersService.updateProfilePic(userId, profilePic));
+
+                // Another instance may have collected the directory between our check and the claim
+                if (existingExtension(hash) == null) {
+                    render(spooled, hash);
+                }
+            } finally {
+                hashLock.unlock();
+            }
+
+            if (previousUrl != null && !previousUrl.equals(fileUrl)) {
+                release(previousUrl);
+            }
+        } catch (Exception e) {
+            log.warn("Avatar processing failed for user {}: {}", userId, e.getMessage());
+        } finally {
+            userLock.unlock();
+            processingTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            try {
+                Files.deleteIfExists(spooled);
+            } catch (IOException e) {
+                log.debug("Could not delete spooled avatar {}", spooled, e);
+            }
+        }
+    }
+
+    // Decode once, then encode and store every size; returns the extension used
+    private String render(Path spooled, String hash) throws IOException {
+        BufferedImage original;
+        try (InputStream in = Files.newInputStream(spooled)) {
+            original = AvatarImages.decode(in, maxPixels);
+        }
+        boolean alpha = original.getColorModel().hasAlpha();
+        String extension = AvatarImages.extension(alpha);
+        String contentType = alpha ? MediaType.IMAGE_PNG_VALUE : MediaType.IMAGE_JPEG_VALUE;
+
+        for (int size : SIZES) {
+            BufferedImage thumbnail = AvatarImages.squareThumbnail(original, size, alpha);
+            Path encoded = Files.createTempFile(spoolDir, "avatar-", "." + extension);
+            try {
+                try (OutputStream out = Files.newOutputStream(encoded)) {
+                    AvatarImages.write(thumbnail, alpha, jpegQuality, out);
+                }
+                storage.store(key(hash, fileName(size, extension)), encoded, contentType);
+            } finally {
+                Files.deleteIfExists(encoded);
+            }
+        }
+        return extension;
+    }
+
+    // Extension of a fully stored avatar, or null if any size is missing
+    private String existingExtension(String hash) throws IOException {
+        for (String extension : new String[] {"jpg", "png"}) {
+            boolean complete = true;
+            for (int size : SIZES) {
+                complete = complete && storage.exists(key(hash, fileName(size, extension)));
+            }
+            if (complete) {
+                return extension;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Schedule a previous avatar for deletion once no profile points at it any more
+     * Content-addressed avatars may be shared between users; older per-user
+     * directories only ever belonged to one user.
+     */
+    private void release(String previousUrl) {
+        if (!previousUrl.startsWith(AVATAR_URL_PREFIX)) {
+            return; // default avatar or external URL
+        }
+        String[] parts = previousUrl.substring(AVATAR_URL_PREFIX.length()).split("/");
+        if (parts.length != 2 || !isSafeSegment(parts[0])) {
+            return;
+        }
+        garbageCollector.release(parts[0], previousUrl);
+    }
+
+    private static String sha256Hex(Path file) throws IOException {
+        MessageDigest sha256;
+        try {
+            sha256 = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+        try (InputStream in = new DigestInputStream(Files.newInputStream(file), sha256)) {
+            in.transferTo(OutputStream.nullOutputStream());
+        }
+        return HexFormat.of().formatHex(sha256.digest());
+    }
+
+    private static ReentrantLock stripe(ReentrantLock[] locks, Object key) {
+        return locks[Math.floorMod(key.hashCode(), LOCK_STRIPES)];
+    }
+
+    // Path segments of avatar URLs: letters, digits, '-' and a single extension dot, never ".."
+    static boolean isSafeSegment(String segment) {
+        return segment.matches("[A-Za-z0-9-]+(\\.[A-Za-z0-9]+)?");
+    }
+
+    // Storage key of one file: {dir}/{file}
+    static String key(String dir, String file) {
+        return dir + "/" + file;
+    }
+
+    static String fileName(int size, String extension) {
+        return size + "." + extension;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdown();
+    }
+}
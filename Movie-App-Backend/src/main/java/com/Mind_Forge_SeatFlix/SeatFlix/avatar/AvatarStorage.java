@@ -0,0 +1,34 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+/**
+ * Where avatar files are kept
+ * Keys look like {sha256}/{size}.{ext}. Objects are immutable once stored, so
+ * implementations may cache them locally without invalidation; {@link #exists}
+ * must still answer from the store itself.
+ */
+public interface AvatarStorage {
+
+    /**
+     * Whether an object exists under the key
+     */
+    boolean exists(String key) throws IOException;
+
+    /**
+     * Store a local file under the key, streaming it rather than loading it into memory
+     */
+    void store(String key, Path source, String contentType) throws IOException;
+
+    /**
+     * Get a readable local copy of an object
+     * @return the local file, or null if there is no such object
+     */
+    Path fetch(String key) throws IOException;
+
+    /**
+     * Delete every object whose key starts with the prefix
+     */
+    void deletePrefix(String prefix) throws IOException;
+}
@@ -0,0 +1,74 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Avatar storage on the local disk (single instance or a shared volume)
+ */
+@Component
+@ConditionalOnProperty(name = "app.avatars.storage", havingValue = "local", matchIfMissing = true)
+public class LocalAvatarStorage implements AvatarStorage {
+
+    private final Path root;
+
+    public LocalAvatarStorage(@Value("${app.avatars.upload-dir:uploads}") String uploadDir) throws IOException {
+        this.root = Files.createDirectories(Paths.get(uploadDir).resolve("avatars").toAbsolutePath().normalize());
+    }
+
+    @Override
+    public boolean exists(String key) {
+        return Files.exists(resolve(key));
+    }
+
+    @Override
+    public void store(String key, Path source, String contentType) throws IOException {
+        Path target = resolve(key);
+        Files.createDirectories(target.getParent());
+        // Copy next to the target and rename, so readers never see a half-written file
+        Path temp = Files.createTempFile(target.getParent(), "avatar-", ".part");
+        try {
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public Path fetch(String key) {
+        Path path = resolve(key);
+        return Files.isRegularFile(path) ? path : null;
+    }
+
+    @Override
+    public void deletePrefix(String prefix) throws IOException {
+        // Prefixes are always a single directory ("{hash}/")
+        Path dir = resolve(prefix);
+        if (!Files.isDirectory(dir)) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(dir)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        }
+        Files.deleteIfExists(dir);
+    }
+
+    private Path resolve(String key) {
+        Path path = root.resolve(key).normalize();
+        if (!path.startsWith(root)) {
+            throw new IllegalArgumentException("Invalid avatar key: " + key);
+        }
+        return path;
+    }
+}
@@ -0,0 +1,267 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PreDestroy;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.model.CompletedMultipartUpload;
+import software.amazon.awssdk.services.s3.model.CompletedPart;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
+import software.amazon.awssdk.services.s3.model.ObjectIdentifier;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+/**
+ * Avatar storage in an S3-compatible object store, shared by every instance
+ * Works against AWS S3 or a local stand-in such as MinIO (set endpoint and
+ * path-style access). Reads go through a local disk cache, which never needs
+ * invalidation: objects are immutable, and a deleted one only comes back with the same content.
+ */
+@Component
+@ConditionalOnProperty(name = "app.avatars.storage", havingValue = "s3")
+public class S3AvatarStorage implements AvatarStorage {
+
+    private static final Logger log = LoggerFactory.getLogger(S3AvatarStorage.class);
+
+    // S3 requires every part except the last to be at least 5 MiB
+    private static final long MIN_PART_SIZE = 5L * 1024 * 1024;
+
+    private final S3Client s3;
+    private final String bucket;
+    private final String keyPrefix;
+    private final long partSize;
+    private final Path cacheDir;
+    private final long cacheMaxBytes;
+
+    public S3AvatarStorage(@Value("${app.avatars.s3.bucket}") String bucket,
+                           @Value("${app.avatars.s3.key-prefix:avatars/}") String keyPrefix,
+                           @Value("${app.avatars.s3.region:us-east-1}") String region,
+                           @Value("${app.avatars.s3.endpoint:}") String endpoint,
+                           @Value("${app.avatars.s3.path-style:false}") boolean pathStyle,
+                           @Value("${app.avatars.s3.access-key:}") String accessKey,
+                           @Value("${app.avatars.s3.secret-key:}") String secretKey,
+                           @Value("${app.avatars.s3.multipart-part-size:8388608}") long partSize,
+                           @Value("${app.avatars.upload-dir:uploads}") String uploadDir,
+                           @Value("${app.avatars.s3.cache-max-bytes:268435456}") long cacheMaxBytes) throws IOException {
+        S3ClientBuilder builder = S3Client.builder()
+                .region(Region.of(region))
+                .forcePathStyle(pathStyle);
+        if (!endpoint.isBlank()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+        builder.credentialsProvider(accessKey.isBlank()
+                ? DefaultCredentialsProvider.create()
+                : StaticCredentialsProvider.create(AwsBasicCredentials.create(accessKey, secretKey)));
+        this.s3 = builder.build();
+        this.bucket = bucket;
+        this.keyPrefix = keyPrefix;
+        this.partSize = Math.max(MIN_PART_SIZE, partSize);
+        this.cacheDir = Files.createDirectories(Paths.get(uploadDir).resolve("avatar-cache").toAbsolutePath().normalize());
+        this.cacheMaxBytes = cacheMaxBytes;
+    }
+
+    // Always asks S3: a cached copy may outlive an object another instance has deleted
+    @Override
+    public boolean exists(String key) {
+        try {
+            s3.headObject(b -> b.bucket(bucket).key(keyPrefix + key));
+            return true;
+        } catch (NoSuchKeyException e) {
+            return false;
+        } catch (S3Exception e) {
+            if (e.statusCode() == 404) {
+                return false;
+            }
+            throw e;
+        }
+    }
+
+    @Override
+    public void store(String key, Path source, String contentType) throws IOException {
+        long size = Files.size(source);
+        if (size <= partSize) {
+            s3.putObject(b -> b.bucket(bucket).key(keyPrefix + key).contentType(contentType),
+                    RequestBody.fromFile(source));
+        } else {
+            storeMultipart(keyPrefix + key, source, size, contentType);
+        }
+        // The file we just uploaded is the cached copy
+        copyIntoCache(key, source);
+    }
+
+    // Upload part by part from the file, holding at most one part in memory
+    private void storeMultipart(String objectKey, Path source, long size, String contentType) throws IOException {
+        String uploadId = s3.createMultipartUpload(b -> b.bucket(bucket).key(objectKey).contentType(contentType))
+                .uploadId();
+        try (FileChannel channel = FileChannel.open(source, StandardOpenOption.READ)) {
+            List<CompletedPart> parts = new ArrayList<>();
+            ByteBuffer buffer = ByteBuffer.allocate((int) partSize);
+            int partNumber = 1;
+            for (long offset = 0; offset < size; offset += partSize, partNumber++) {
+                buffer.clear();
+                while (buffer.hasRemaining() && channel.read(buffer, offset + buffer.position()) > 0) {
+                    // keep reading until the part is full or the file ends
+                }
+                buffer.flip();
+                int number = partNumber;
+                String etag = s3.uploadPart(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId).partNumber(number),
+                        RequestBody.fromByteBuffer(buffer)).eTag();
+                parts.add(CompletedPart.builder().partNumber(number).eTag(etag).build());
+            }
+            s3.completeMultipartUpload(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId)
+                    .multipartUpload(CompletedMultipartUpload.builder().parts(parts).build()));
+        } catch (IOException | RuntimeException e) {
+            s3.abortMultipartUpload(b -> b.bucket(bucket).key(objectKey).uploadId(uploadId));
+            throw e;
+        }
+    }
+
+    @Override
+    public Path fetch(String key) throws IOException {
+        Path cached = cachePath(key);
+        if (Files.isRegularFile(cached)) {
+            // Touch so the cache trim keeps recently served files
+            Files.setLastModifiedTime(cached, FileTime.fromMillis(System.currentTimeMillis()));
+            return cached;
+        }
+
+        Files.createDirectories(cached.getParent());
+        Path temp = Files.createTempFile(cached.getParent(), "avatar-", ".part");
+        try (InputStream in = s3.getObject(b -> b.bucket(bucket).key(keyPrefix + key))) {
+            Files.copy(in, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return cached;
+        } catch (NoSuchKeyException e) {
+            return null;
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public void deletePrefix(String prefix) throws IOException {
+        List<ObjectIdentifier> objects = new ArrayList<>();
+        for (S3Object object : s3.listObjectsV2Paginator(b -> b.bucket(bucket).prefix(keyPrefix + prefix)).contents()) {
+            objects.add(ObjectIdentifier.builder().key(object.key()).build());
+        }
+        if (!objects.isEmpty()) {
+            s3.deleteObjects(b -> b.bucket(bucket).delete(d -> d.objects(objects)));
+        }
+
+        Path cachedDir = cachePath(prefix);
+        if (Files.isDirectory(cachedDir)) {
+            deleteTree(cachedDir);
+        }
+    }
+
+    /**
+     * Trim the local cache to its size limit, least recently served files first
+     */
+    @Scheduled(fixedDelayString = "${app.avatars.s3.cache-trim-interval-ms:300000}")
+    void trimCache() {
+        try {
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(cacheDir)) {
+                files = new ArrayList<>(stream.filter(Files::isRegularFile).toList());
+            }
+            long total = 0;
+            for (Path file : files) {
+                total += Files.size(file);
+            }
+            if (total <= cacheMaxBytes) {
+                return;
+            }
+            files.sort(Comparator.comparing(S3AvatarStorage::lastModified));
+            for (Path file : files) {
+                if (total <= cacheMaxBytes) {
+                    break;
+                }
+                long size = Files.size(file);
+                Files.deleteIfExists(file);
+                total -= size;
+            }
+        } catch (IOException e) {
+            log.warn("Avatar cache trim failed: {}", e.getMessage());
+        }
+    }
+
+    private void copyIntoCache(String key, Path source) {
+        try {
+            Path cached = cachePath(key);
+            Files.createDirectories(cached.getParent());
+            Path temp = Files.createTempFile(cached.getParent(), "avatar-", ".part");
+            Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, cached, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            // Only a cache miss later on
+            log.debug("Could not cache avatar {}", key, e);
+        }
+    }
+
+    private Path cachePath(String key) {
+        Path path = cacheDir.resolve(key).normalize();
+        if (!path.startsWith(cacheDir)) {
+            throw new IllegalArgumentException("Invalid avatar key: " + key);
+        }
+        return path;
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        Files.walkFileTree(dir, new SimpleFileVisitor<>() {
+            @Override
+            public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+                Files.delete(file);
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult postVisitDirectory(Path dir, IOException e) throws IOException {
+                Files.delete(dir);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        s3.close();
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
+import com.Mind_Forge_SeatFlix.SeatFlix.util.VerifiedToken;
 
 public class CustomUserDetails implements UserDetails {
 
@@ -16,6 +17,27 @@ public class CustomUserDetails implements UserDetails {
         this.user = user;
     }
 
+    /**
+     * Build a principal straight from verified token claims, without touching the database.
+     * The resulting user carries no password.
+     */
+    public static CustomUserDetails fromVerifiedToken(VerifiedToken token) {
+        Users user = new Users(token.getUserId(), token.getUsername(), null, token.getEmail());
+        user.setTokenVersion(token.getTokenVersion());
+        return new CustomUserDetails(user);
+    }
+
+    /**
+     * Copy of this principal without the password hash, for the security context
+     */
+    public CustomUserDetails withoutPassword() {
+        Users copy = new Users(user.getId(), user.getUsername(), null, user.getEmail());
+        copy.setProfilePic(user.getProfilePic());
+        copy.setDateJoined(user.getDateJoined());
+        copy.setTokenVersion(user.getTokenVersion());
+        return new CustomUserDetails(copy);
+    }
+
     public Long getId() {
         return user.getId();
     }
@@ -24,6 +46,10 @@ public class CustomUserDetails implements UserDetails {
         return user.getEmail();
     }
 
+    public int getTokenVersion() {
+        return user.getTokenVersion();
+    }
+
     public Users getUserEntity() {
         return user;
     }
@@ -0,0 +1,94 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.config;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Type;
+import java.util.Set;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotWritableException;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.Nullable;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.LoginResponse;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.RegisterResponse;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UserProfile;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+
+@Configuration
+public class JsonConfig {
+
+    /**
+     * Replace Jackson's reflective getter and field access with generated lambdas
+     * Spring Boot registers every Module bean with the application's ObjectMapper, so this
+     * applies to every bean without a serializer of its own.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "app.json.blackbird.enabled", havingValue = "true", matchIfMissing = true)
+    public Module blackbirdModule() {
+        return new BlackbirdModule();
+    }
+
+    /**
+     * Write the small user responses with a Content-Length, so server.compression.min-response-size applies
+     * Tomcat compresses every response of unknown length, which gzipped login and profile bodies.
+     * Boot puts this converter ahead of its own Jackson converter, which still streams every other body.
+     */
+    @Bean
+    public HttpMessageConverter<Object> smallResponseJsonConverter(ObjectMapper objectMapper) {
+        return new SmallResponseJsonConverter(objectMapper);
+    }
+
+    static final class SmallResponseJsonConverter extends AbstractJackson2HttpMessageConverter {
+
+        // Bodies of a few hundred bytes at most, so buffering them costs next to nothing
+        private static final Set<Class<?>> TYPES = Set.of(LoginResponse.class, RegisterResponse.class, UserProfile.class);
+
+        SmallResponseJsonConverter(ObjectMapper objectMapper) {
+            super(objectMapper, MediaType.APPLICATION_JSON);
+        }
+
+        @Override
+        public boolean canRead(Class<?> clazz, @Nullable MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canRead(Type type, @Nullable Class<?> contextClass, @Nullable MediaType mediaType) {
+            return false;
+        }
+
+        @Override
+        public boolean canWrite(Class<?> clazz, @Nullable MediaType mediaType) {
+            return TYPES.contains(clazz) && super.canWrite(clazz, mediaType);
+        }
+
+        @Override
+        protected void writeInternal(Object object, @Nullable Type type, HttpOutputMessage outputMessage)
+                throws IOException, HttpMessageNotWritableException {
+            ByteArrayOutputStream buffer = new ByteArrayOutputStream(512);
+            super.writeInternal(object, type, new HttpOutputMessage() {
+                @Override
+                public OutputStream getBody() {
+                    return buffer;
+                }
+
+                @Override
+                public HttpHeaders getHeaders() {
+                    return outputMessage.getHeaders();
+                }
+            });
+            outputMessage.getHeaders().setContentLength(buffer.size());
+            buffer.writeTo(outputMessage.getBody());
+        }
+    }
+}
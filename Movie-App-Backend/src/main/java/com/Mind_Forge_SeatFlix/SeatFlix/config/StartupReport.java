@@ -0,0 +1,95 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.config;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.RuntimeMXBean;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aot.AotDetector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.boot.context.metrics.buffering.BufferingApplicationStartup;
+import org.springframework.boot.context.metrics.buffering.StartupTimeline;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.metrics.StartupStep;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.support.ServletRequestHandledEvent;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+
+/**
+ * Logs where startup time went, so cold starts can be tracked from deploy to deploy
+ * At ready: time since JVM start, split into JVM/class loading before SpringApplication.run
+ * and the run itself, whether AOT and a CDS archive were used, and the slowest bean creations
+ * (each including the beans it depended on). The first handled request is logged and exported
+ * as seatflix.startup.first-request, next to Boot's application.ready.time.
+ */
+@Component
+public class StartupReport {
+
+    private static final Logger log = LoggerFactory.getLogger(StartupReport.class);
+
+    private static final String BEAN_INSTANTIATION = "spring.beans.instantiate";
+
+    private final int slowestBeans;
+    private final AtomicLong firstRequestMillis = new AtomicLong(-1);
+    private volatile boolean firstRequestSeen;
+
+    public StartupReport(MeterRegistry meterRegistry,
+                         @Value("${app.startup.report.slowest-beans:10}") int slowestBeans) {
+        this.slowestBeans = slowestBeans;
+        TimeGauge.builder("seatflix.startup.first-request", firstRequestMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Time from JVM start until the first request was handled; -1 until then")
+                .register(meterRegistry);
+    }
+
+    @EventListener
+    void onReady(ApplicationReadyEvent event) {
+        RuntimeMXBean runtime = ManagementFactory.getRuntimeMXBean();
+        long sinceJvmStart = runtime.getUptime();
+        Duration run = event.getTimeTaken();
+        boolean cds = runtime.getInputArguments().stream().anyMatch(arg -> arg.startsWith("-XX:SharedArchiveFile"));
+        log.info("Ready {} ms after JVM start: {} ms before SpringApplication.run, {} ms in it (AOT: {}, CDS archive: {})",
+                sinceJvmStart, run == null ? "?" : sinceJvmStart - run.toMillis(), run == null ? "?" : run.toMillis(),
+                AotDetector.useGeneratedArtifacts(), cds);
+
+        if (slowestBeans > 0
+                && event.getApplicationContext().getApplicationStartup() instanceof BufferingApplicationStartup startup) {
+            StringBuilder report = new StringBuilder("Slowest bean creations (including their dependencies):");
+            startup.getBufferedTimeline().getEvents().stream()
+                    .filter(step -> step.getStartupStep().getName().equals(BEAN_INSTANTIATION))
+                    .sorted(Comparator.comparing(StartupTimeline.TimelineEvent::getDuration).reversed())
+                    .limit(slowestBeans)
+                    .forEach(step -> report.append(String.format("%n  %6d ms  %s",
+                            step.getDuration().toMillis(), beanName(step.getStartupStep()))));
+            log.info(report.toString());
+        }
+    }
+
+    @EventListener
+    void onRequestHandled(ServletRequestHandledEvent event) {
+        if (firstRequestSeen) {
+            return;
+        }
+        firstRequestSeen = true;
+        long sinceJvmStart = ManagementFactory.getRuntimeMXBean().getUptime();
+        if (firstRequestMillis.compareAndSet(-1, sinceJvmStart)) {
+            log.info("First request handled {} ms after JVM start ({} {})",
+                    sinceJvmStart, event.getMethod(), event.getRequestUrl());
+        }
+    }
+
+    private static String beanName(StartupStep step) {
+        for (StartupStep.Tag tag : step.getTags()) {
+            if (tag.getKey().equals("beanName")) {
+                return tag.getValue();
+            }
+        }
+        return "?";
+    }
+}
@@ -1,8 +1,6 @@
 package com.Mind_Forge_SeatFlix.SeatFlix.config;
 
 import org.springframework.context.annotation.Configuration;
-import org.springframework.web.servlet.config.annotation.CorsRegistry;
-import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
@@ -18,11 +16,6 @@ public class WebConfig implements WebMvcConfigurer {
     //             .allowCredentials(true);
     // }
 
-    @Override
-    public void addResourceHandlers(ResourceHandlerRegistry registry) {
-        // Serve static files from the local "uploads" folder — path is relative to project root
-        registry.addResourceHandler("/uploads/**")
-                .addResourceLocations("file:uploads/") // no leading slash here
-                .setCachePeriod(3600); // optional: set browser cache time in seconds
-    }
-}
\ No newline at end of file
+    // Avatars under /uploads/avatars/** are served by AvatarController (immutable caching, ETags, sendfile);
+    // the rest of the uploads directory (e.g. spooled uploads) is intentionally not exposed
+}
@@ -0,0 +1,85 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.db;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Actuator endpoint at /actuator/queries
+ * Shows latency per SQL shape, recent slow statements, requests flagged for N+1 or
+ * duplicate queries, and Hibernate's own statistics (row counts per query).
+ * DELETE resets everything.
+ */
+@Component
+@Endpoint(id = "queries")
+public class QueriesEndpoint {
+
+    private static final int DEFAULT_LIMIT = 20;
+
+    private final QueryInstrumentation instrumentation;
+    private final Statistics statistics;
+
+    public QueriesEndpoint(QueryInstrumentation instrumentation, EntityManagerFactory entityManagerFactory) {
+        this.instrumentation = instrumentation;
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public Map<String, Object> queries(@Nullable Integer limit) {
+        int top = limit == null || limit <= 0 ? DEFAULT_LIMIT : limit;
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("shapes", instrumentation.topShapes(top));
+        result.put("slowQueries", instrumentation.recentSlowQueries());
+        result.put("flaggedRequests", instrumentation.recentFlaggedRequests());
+        result.put("hibernate", hibernateStatistics(top));
+        return result;
+    }
+
+    @DeleteOperation
+    public void reset() {
+        instrumentation.reset();
+        statistics.clear();
+    }
+
+    private Map<String, Object> hibernateStatistics(int limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        if (!statistics.isStatisticsEnabled()) {
+            return result;
+        }
+        result.put("statementsPrepared", statistics.getPrepareStatementCount());
+        result.put("entityLoads", statistics.getEntityLoadCount());
+        result.put("entityFetches", statistics.getEntityFetchCount());
+        result.put("queryExecutions", statistics.getQueryExecutionCount());
+        result.put("slowestQuery", statistics.getQueryExecutionMaxTimeQueryString());
+        result.put("slowestQueryMs", statistics.getQueryExecutionMaxTime());
+
+        List<Map<String, Object>> queries = new ArrayList<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("query", query);
+            entry.put("executions", queryStatistics.getExecutionCount());
+            entry.put("rows", queryStatistics.getExecutionRowCount());
+            entry.put("avgMs", queryStatistics.getExecutionAvgTime());
+            entry.put("maxMs", queryStatistics.getExecutionMaxTime());
+            queries.add(entry);
+        }
+        queries.sort(Comparator.comparingLong((Map<String, Object> entry) -> (Long) entry.get("rows")).reversed());
+        result.put("queries", queries.size() > limit ? queries.subList(0, limit) : queries);
+        return result;
+    }
+}
@@ -0,0 +1,276 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.db;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.regex.Pattern;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Records what Hibernate sends to the database
+ * As the StatementInspector it sees every SQL string before it is prepared; the
+ * session listener then times the execution and attributes it to that SQL's shape.
+ * Per request it counts statements and flags repeated shapes: a shape seen
+ * n-plus-one-threshold times or more is reported as a likely N+1, fewer repeats as
+ * duplicate queries. Slow statements go to the "seatflix.sql.slow" logger.
+ */
+@Component
+public class QueryInstrumentation implements StatementInspector {
+
+    private static final Logger log = LoggerFactory.getLogger(QueryInstrumentation.class);
+    private static final Logger slowLog = LoggerFactory.getLogger("seatflix.sql.slow");
+
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern IN_LIST = Pattern.compile("\\(\\s*\\?(\\s*,\\s*\\?)+\\s*\\)");
+    private static final int MAX_SHAPES = 500;
+    private static final int MAX_SHAPE_LENGTH = 1000;
+    private static final String OTHER_SHAPE = "(other)";
+    private static final int RECENT_LIMIT = 50;
+
+    // Set by the Spring bean so Hibernate-instantiated session listeners can reach it
+    private static volatile QueryInstrumentation current;
+
+    private final ThreadLocal<String> pendingShape = new ThreadLocal<>();
+    private final ThreadLocal<RequestQueries> requestQueries = new ThreadLocal<>();
+    private final Map<String, QueryShapeStats> shapes = new ConcurrentHashMap<>();
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+
+    private final ReentrantLock recentLock = new ReentrantLock();
+    private final Deque<Map<String, Object>> recentSlowQueries = new ArrayDeque<>();
+    private final Deque<Map<String, Object>> recentFlaggedRequests = new ArrayDeque<>();
+
+    @Value("${app.db.instrumentation.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.db.slow-query-ms:200}")
+    private long slowQueryMs;
+
+    @Value("${app.db.n-plus-one-threshold:5}")
+    private int nPlusOneThreshold;
+
+    public QueryInstrumentation(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @PostConstruct
+    void register() {
+        current = this;
+    }
+
+    @PreDestroy
+    void unregister() {
+        current = null;
+    }
+
+    static QueryInstrumentation current() {
+        QueryInstrumentation instrumentation = current;
+        return instrumentation != null && instrumentation.enabled ? instrumentation : null;
+    }
+
+    boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Remember the statement's shape for the execution that follows; the SQL is not changed
+     */
+    @Override
+    public String inspect(String sql) {
+        if (enabled) {
+            pendingShape.set(shapeOf(sql));
+        }
+        return sql;
+    }
+
+    /**
+     * Record one execution of the statement last seen by {@link #inspect}
+     */
+    void recordExecution(long nanos) {
+        String shape = pendingShape.get();
+        if (shape == null) {
+            return;
+        }
+        // One inspection per execution; a statement that bypasses the inspector must not reuse this shape
+        pendingShape.remove();
+        stats(shape).record(nanos);
+        timers.computeIfAbsent(operationOf(shape), operation -> Timer.builder("seatflix.db.query")
+                        .tag("operation", operation)
+                        .publishPercentiles(0.5, 0.95, 0.99)
+                        .register(meterRegistry))
+                .record(nanos, TimeUnit.NANOSECONDS);
+
+        RequestQueries request = requestQueries.get();
+        if (request != null) {
+            request.record(shape, nanos);
+        }
+        if (nanos >= TimeUnit.MILLISECONDS.toNanos(slowQueryMs)) {
+            String uri = request == null ? "-" : request.uri;
+            slowLog.warn("{} ms [{}] {}", TimeUnit.NANOSECONDS.toMillis(nanos), uri, shape);
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("ms", nanos / 1_000_000.0);
+            entry.put("request", uri);
+            entry.put("sql", shape);
+            remember(recentSlowQueries, entry);
+        }
+    }
+
+    /**
+     * Start counting statements for the current request
+     */
+    void beginRequest(String method, String uri) {
+        requestQueries.set(new RequestQueries(method + " " + uri));
+    }
+
+    /**
+     * Stop counting and report repeated shapes in the finished request
+     */
+    void endRequest() {
+        RequestQueries request = requestQueries.get();
+        requestQueries.remove();
+        pendingShape.remove();
+        if (request == null || request.statements == 0) {
+            return;
+        }
+
+        List<Map<String, Object>> nPlusOne = new ArrayList<>();
+        List<Map<String, Object>> duplicates = new ArrayList<>();
+        request.countsByShape.forEach((shape, count) -> {
+            if (count < 2) {
+                return;
+            }
+            Map<String, Object> repeated = new LinkedHashMap<>();
+            repeated.put("count", count);
+            repeated.put("sql", shape);
+            (count >= nPlusOneThreshold ? nPlusOne : duplicates).add(repeated);
+        });
+        if (nPlusOne.isEmpty() && duplicates.isEmpty()) {
+            return;
+        }
+
+        if (!nPlusOne.isEmpty()) {
+            log.warn("Possible N+1 in {}: {} statements, repeated shapes {}", request.uri, request.statements, nPlusOne);
+        } else {
+            log.info("Duplicate queries in {}: {} statements, repeated shapes {}", request.uri, request.statements, duplicates);
+        }
+        Map<String, Object> entry = new LinkedHashMap<>();
+        entry.put("request", request.uri);
+        entry.put("statements", request.statements);
+        entry.put("dbMs", request.totalNanos / 1_000_000.0);
+        entry.put("nPlusOne", nPlusOne);
+        entry.put("duplicates", duplicates);
+        remember(recentFlaggedRequests, entry);
+    }
+
+    /**
+     * Shapes ordered by total time spent, most expensive first
+     */
+    List<Map<String, Object>> topShapes(int limit) {
+        return shapes.values().stream()
+                .sorted(Comparator.comparingLong(QueryShapeStats::totalNanos).reversed())
+                .limit(limit)
+                .map(QueryShapeStats::snapshot)
+                .toList();
+    }
+
+    List<Map<String, Object>> recentSlowQueries() {
+        return copy(recentSlowQueries);
+    }
+
+    List<Map<String, Object>> recentFlaggedRequests() {
+        return copy(recentFlaggedRequests);
+    }
+
+    void reset() {
+        shapes.clear();
+        recentLock.lock();
+        try {
+            recentSlowQueries.clear();
+            recentFlaggedRequests.clear();
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private QueryShapeStats stats(String shape) {
+        QueryShapeStats stats = shapes.get(shape);
+        if (stats != null) {
+            return stats;
+        }
+        // Shapes come from code, not input, but cap them anyway so the map cannot grow without bound
+        String key = shapes.size() < MAX_SHAPES ? shape : OTHER_SHAPE;
+        return shapes.computeIfAbsent(key, QueryShapeStats::new);
+    }
+
+    private void remember(Deque<Map<String, Object>> recent, Map<String, Object> entry) {
+        recentLock.lock();
+        try {
+            if (recent.size() == RECENT_LIMIT) {
+                recent.removeFirst();
+            }
+            recent.addLast(entry);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    private List<Map<String, Object>> copy(Deque<Map<String, Object>> recent) {
+        recentLock.lock();
+        try {
+            return new ArrayList<>(recent);
+        } finally {
+            recentLock.unlock();
+        }
+    }
+
+    // Hibernate already binds parameters; collapse whitespace and variable-length IN lists
+    static String shapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql.trim()).replaceAll(" ");
+        shape = IN_LIST.matcher(shape).replaceAll("(?, ...)");
+        return shape.length() > MAX_SHAPE_LENGTH ? shape.substring(0, MAX_SHAPE_LENGTH) : shape;
+    }
+
+    private static String operationOf(String shape) {
+        int space = shape.indexOf(' ');
+        String keyword = (space < 0 ? shape : shape.substring(0, space)).toLowerCase();
+        return switch (keyword) {
+            case "select", "insert", "update", "delete", "with" -> keyword;
+            default -> "other";
+        };
+    }
+
+    private static final class RequestQueries {
+        private final String uri;
+        private final Map<String, Integer> countsByShape = new LinkedHashMap<>();
+        private int statements;
+        private long totalNanos;
+
+        private RequestQueries(String uri) {
+            this.uri = uri;
+        }
+
+        // Only touched by the request's own thread
+        private void record(String shape, long nanos) {
+            countsByShape.merge(shape, 1, Integer::sum);
+            statements++;
+            totalNanos += nanos;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.db;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class QueryInstrumentationConfig {
+
+    /**
+     * Hook the statement inspector and timing listener into Hibernate
+     */
+    @Bean
+    public HibernatePropertiesCustomizer queryInstrumentationCustomizer(QueryInstrumentation instrumentation) {
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, instrumentation);
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, QueryTimingListener.class.getName());
+        };
+    }
+}
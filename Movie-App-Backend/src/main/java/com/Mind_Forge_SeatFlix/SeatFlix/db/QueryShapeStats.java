@@ -0,0 +1,83 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.db;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency histogram for one SQL shape
+ * Buckets are powers of two in microseconds (16 us .. ~16 s), so percentiles are
+ * upper bounds accurate to a factor of two, which is enough to spot outliers cheaply.
+ */
+final class QueryShapeStats {
+
+    private static final int FIRST_BUCKET_SHIFT = 4;
+    private static final int BUCKETS = 21;
+
+    private final String shape;
+    private final LongAdder count = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final AtomicLong maxNanos = new AtomicLong();
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS + 1);
+
+    QueryShapeStats(String shape) {
+        this.shape = shape;
+    }
+
+    void record(long nanos) {
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+        buckets.incrementAndGet(bucketOf(nanos / 1000));
+    }
+
+    long count() {
+        return count.sum();
+    }
+
+    long totalNanos() {
+        return totalNanos.sum();
+    }
+
+    Map<String, Object> snapshot() {
+        long n = count.sum();
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("sql", shape);
+        result.put("count", n);
+        result.put("totalMs", totalNanos.sum() / 1_000_000.0);
+        result.put("meanMs", n == 0 ? 0 : totalNanos.sum() / 1_000_000.0 / n);
+        result.put("p50Ms", percentileMs(0.5));
+        result.put("p95Ms", percentileMs(0.95));
+        result.put("p99Ms", percentileMs(0.99));
+        result.put("maxMs", maxNanos.get() / 1_000_000.0);
+        return result;
+    }
+
+    private double percentileMs(double quantile) {
+        long[] counts = new long[buckets.length()];
+        long total = 0;
+        for (int i = 0; i < counts.length; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(quantile * total);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return i == BUCKETS ? maxNanos.get() / 1_000_000.0 : (1L << (i + FIRST_BUCKET_SHIFT)) / 1000.0;
+            }
+        }
+        return maxNanos.get() / 1_000_000.0;
+    }
+
+    private static int bucketOf(long micros) {
+        int bitLength = 64 - Long.numberOfLeadingZeros(micros);
+        return Math.min(BUCKETS, Math.max(0, bitLength - FIRST_BUCKET_SHIFT));
+    }
+}
@@ -0,0 +1,41 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.db;
+
+import org.hibernate.SessionEventListener;
+
+/**
+ * Times JDBC executions for {@link QueryInstrumentation}
+ * Hibernate creates one instance per session (hibernate.session.events.auto),
+ * and a session is only used by one thread at a time.
+ */
+public class QueryTimingListener implements SessionEventListener {
+
+    private long statementStart;
+    private long batchStart;
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        statementStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        record(statementStart);
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        batchStart = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        record(batchStart);
+    }
+
+    private static void record(long start) {
+        QueryInstrumentation instrumentation = QueryInstrumentation.current();
+        if (instrumentation != null && start != 0) {
+            instrumentation.recordExecution(System.nanoTime() - start);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * An avatar directory that a profile stopped pointing at, awaiting deletion
+ * Deletes are deferred so that every replica agrees on them: an upload that reuses the
+ * directory removes the row in the same transaction that references it again, and the
+ * sweep deletes the files only while holding a lock on the row.
+ * Rows are written by AvatarGarbageCollector only.
+ */
+@Entity
+@Table(name = "avatar_gc_candidates")
+public class AvatarGcCandidate {
+
+    @Id
+    @Column(name = "avatar_dir", length = 100)
+    private String avatarDir;
+
+    @Column(name = "profile_pic", nullable = false, length = 255)
+    private String profilePic;
+
+    @Column(name = "released_at_millis", nullable = false)
+    private long releasedAtMillis;
+
+    public AvatarGcCandidate() {
+        // Default constructor required by JPA
+    }
+
+    public String getAvatarDir() {
+        return avatarDir;
+    }
+
+    public String getProfilePic() {
+        return profilePic;
+    }
+
+    public long getReleasedAtMillis() {
+        return releasedAtMillis;
+    }
+}
@@ -0,0 +1,36 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Shared state of one rate-limit bucket, used when limits must hold across replicas
+ * The state is the bucket's theoretical arrival time in epoch milliseconds; every
+ * instance adds its own consumption to it in batches and adopts the combined value.
+ * Rows are written by RateLimiter only, and only when app.rate-limit.shared is on.
+ */
+@Entity
+@Table(name = "rate_limit_buckets")
+public class RateLimitBucket {
+
+    @Id
+    @Column(name = "bucket_key", length = 200)
+    private String bucketKey;
+
+    @Column(name = "tat_millis", nullable = false)
+    private long tatMillis;
+
+    public RateLimitBucket() {
+        // Default constructor required by JPA
+    }
+
+    public String getBucketKey() {
+        return bucketKey;
+    }
+
+    public long getTatMillis() {
+        return tatMillis;
+    }
+}
@@ -0,0 +1,73 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+
+/**
+ * Aggregated search count for one normalized search term
+ * Rows are written in batches by SearchAnalyticsService, never one per search.
+ */
+@Entity
+@Table(name = "search_terms")
+public class SearchTerm {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(unique = true, nullable = false, length = 100)
+    private String term;
+
+    @Column(name = "search_count", nullable = false)
+    private long searchCount;
+
+    // Top result of the most recent search for this term
+    @Column(name = "movie_id")
+    private Long movieId;
+
+    @Column(name = "poster_url")
+    private String posterUrl;
+
+    private String title;
+
+    @Column(name = "last_searched")
+    private Instant lastSearched;
+
+    public SearchTerm() {
+        // Default constructor required by JPA
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTerm() {
+        return term;
+    }
+
+    public long getSearchCount() {
+        return searchCount;
+    }
+
+    public Long getMovieId() {
+        return movieId;
+    }
+
+    public String getPosterUrl() {
+        return posterUrl;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Instant getLastSearched() {
+        return lastSearched;
+    }
+}
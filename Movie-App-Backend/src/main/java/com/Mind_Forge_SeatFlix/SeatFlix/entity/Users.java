@@ -15,6 +15,7 @@ import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Size;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 /**
@@ -50,6 +51,11 @@ public class Users implements UserDetails {
     @Column(name = "date_joined")
     private LocalDate dateJoined;
 
+    // Bumped whenever issued tokens must stop being accepted (e.g. username/email change)
+    @JsonIgnore
+    @Column(name = "token_version")
+    private Integer tokenVersion;
+
     // Constructors
 
     public Users() {
@@ -111,6 +117,15 @@ public class Users implements UserDetails {
         this.dateJoined = dateJoined;
     }
 
+    @JsonIgnore
+    public int getTokenVersion() {
+        return tokenVersion == null ? 0 : tokenVersion;
+    }
+
+    public void setTokenVersion(Integer tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     // UserDetails Interface Implementation
 
     @Override
@@ -0,0 +1,97 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.entity;
+
+import java.time.Instant;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Where a user stopped watching a movie or show; one row per user and title
+ * Rows are written in batches by WatchProgressService, never once per heartbeat.
+ */
+@Entity
+@Table(name = "watch_progress",
+        uniqueConstraints = @UniqueConstraint(name = "uk_watch_progress_title",
+                columnNames = {"user_id", "media_type", "tmdb_id"}),
+        indexes = @Index(name = "idx_watch_progress_recent", columnList = "user_id, updated_at"))
+public class WatchProgress {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "user_id", nullable = false)
+    private Users user;
+
+    @Column(name = "media_type", nullable = false, length = 10)
+    private String mediaType;
+
+    @Column(name = "tmdb_id", nullable = false)
+    private Long tmdbId;
+
+    // Episode being watched; 0 for movies
+    @Column(nullable = false)
+    private int season;
+
+    @Column(nullable = false)
+    private int episode;
+
+    @Column(name = "position_seconds", nullable = false)
+    private int positionSeconds;
+
+    @Column(name = "duration_seconds")
+    private Integer durationSeconds;
+
+    @Column(name = "updated_at", nullable = false)
+    private Instant updatedAt;
+
+    public WatchProgress() {
+        // Default constructor required by JPA
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Users getUser() {
+        return user;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    public Long getTmdbId() {
+        return tmdbId;
+    }
+
+    public int getSeason() {
+        return season;
+    }
+
+    public int getEpisode() {
+        return episode;
+    }
+
+    public int getPositionSeconds() {
+        return positionSeconds;
+    }
+
+    public Integer getDurationSeconds() {
+        return durationSeconds;
+    }
+
+    public Instant getUpdatedAt() {
+        return updatedAt;
+    }
+}
@@ -0,0 +1,123 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.util.UriComponentsBuilder;
+
+/**
+ * Proxy for the TMDB endpoints the frontend uses, so the API key stays on the server
+ * and responses are cached and shared between users. Bodies are passed through unchanged.
+ */
+@RequestMapping(path = "api/v1/movies")
+@RestController
+public class MoviesController {
+
+    private static final Set<String> MEDIA_TYPES = Set.of("movie", "tv");
+    private static final Set<String> TRENDING_WINDOWS = Set.of("day", "week");
+    private static final int MAX_PAGE = 500;
+
+    private static final long SUGGEST_MAX_AGE_SECONDS = 60;
+
+    private final MoviesService moviesService;
+    private final SuggestService suggestService;
+
+    public MoviesController(MoviesService moviesService, SuggestService suggestService) {
+        this.moviesService = moviesService;
+        this.suggestService = suggestService;
+    }
+
+    // Typeahead from the in-memory title index; never calls TMDB
+    @GetMapping("/suggest")
+    public ResponseEntity<?> suggest(@RequestParam String query,
+                                     @RequestParam(required = false) String type,
+                                     @RequestParam(defaultValue = "8") int limit) {
+        if ((type != null && !MEDIA_TYPES.contains(type)) || limit < 1 || limit > suggestService.topK()) {
+            return ResponseEntity.badRequest().body("Invalid suggest request");
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.maxAge(SUGGEST_MAX_AGE_SECONDS, TimeUnit.SECONDS).cachePrivate())
+                .body(suggestService.suggest(query, type, limit));
+    }
+
+    @GetMapping("/search/{type}")
+    public ResponseEntity<?> search(@PathVariable("type") String type,
+                                    @RequestParam String query,
+                                    @RequestParam(defaultValue = "1") int page) {
+        if (!MEDIA_TYPES.contains(type) || query.isBlank() || !isValidPage(page)) {
+            return ResponseEntity.badRequest().body("Invalid search request");
+        }
+        String path = UriComponentsBuilder.fromPath("/search/" + type)
+                .queryParam("query", query.trim())
+                .queryParam("include_adult", false)
+                .queryParam("page", page)
+                .encode()
+                .toUriString();
+        return proxy(MoviesService.Kind.SEARCH, path);
+    }
+
+    @GetMapping("/discover/{type}")
+    public ResponseEntity<?> discover(@PathVariable("type") String type,
+                                      @RequestParam(defaultValue = "1") int page) {
+        if (!MEDIA_TYPES.contains(type) || !isValidPage(page)) {
+            return ResponseEntity.badRequest().body("Invalid discover request");
+        }
+        return proxy(MoviesService.Kind.DISCOVER, "/discover/" + type + "?sort_by=popularity.desc&page=" + page);
+    }
+
+    @GetMapping("/trending/{type}")
+    public ResponseEntity<?> trending(@PathVariable("type") String type,
+                                      @RequestParam(defaultValue = "day") String window) {
+        if (!MEDIA_TYPES.contains(type) || !TRENDING_WINDOWS.contains(window)) {
+            return ResponseEntity.badRequest().body("Invalid trending request");
+        }
+        return proxy(MoviesService.Kind.TRENDING, "/trending/" + type + "/" + window);
+    }
+
+    @GetMapping("/{type}/{id}")
+    public ResponseEntity<?> details(@PathVariable("type") String type, @PathVariable("id") long id) {
+        if (!MEDIA_TYPES.contains(type)) {
+            return ResponseEntity.badRequest().body("Invalid media type");
+        }
+        return proxy(MoviesService.Kind.DETAILS, "/" + type + "/" + id);
+    }
+
+    @GetMapping("/tv/{id}/season/{season}")
+    public ResponseEntity<?> season(@PathVariable("id") long id, @PathVariable("season") int season) {
+        return proxy(MoviesService.Kind.DETAILS, "/tv/" + id + "/season/" + season);
+    }
+
+    private ResponseEntity<?> proxy(MoviesService.Kind kind, String path) {
+        try {
+            TmdbResponse response = moviesService.get(kind, path);
+            // Let the browser reuse the body for whatever freshness it has left
+            long maxAge = moviesService.remainingFreshSeconds(kind, response);
+            return ResponseEntity.ok()
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .cacheControl(CacheControl.maxAge(maxAge, TimeUnit.SECONDS).cachePrivate())
+                    .body(response.body());
+        } catch (TmdbUpstreamException e) {
+            if (e.getStatus() == 404) {
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Not found");
+            }
+            if (e.getStatus() == 503) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).header("Retry-After", "1")
+                        .body("Movie data is temporarily unavailable");
+            }
+            return ResponseEntity.status(HttpStatus.BAD_GATEWAY).body("Movie data is temporarily unavailable");
+        }
+    }
+
+    private static boolean isValidPage(int page) {
+        return page >= 1 && page <= MAX_PAGE;
+    }
+}
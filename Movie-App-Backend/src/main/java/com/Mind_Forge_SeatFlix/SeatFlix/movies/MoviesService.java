@@ -0,0 +1,319 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Cached access to TMDB for the /api/v1/movies proxy
+ * Lookups go memory (bounded by bytes) -> disk -> TMDB. Entries are fresh for their
+ * kind's TTL; after that they are still served for the stale-while-revalidate window
+ * while one background refresh runs. Concurrent misses for the same request share a
+ * single upstream call, and a stale entry is served if TMDB fails.
+ */
+@Service
+public class MoviesService {
+
+    private static final Logger log = LoggerFactory.getLogger(MoviesService.class);
+
+    /** Kinds of TMDB request, each with its own freshness */
+    public enum Kind { SEARCH, DISCOVER, TRENDING, DETAILS }
+
+    private final TmdbClient tmdbClient;
+    private final ObjectProvider<TmdbFetchListener> fetchListeners;
+    private final Map<Kind, Long> ttlMillis = new EnumMap<>(Kind.class);
+    private final long staleMillis;
+    private final long waitTimeoutMs;
+    private final Cache<String, TmdbResponse> memory;
+    private final Path diskDir;
+    private final long diskMaxBytes;
+    private final ThreadPoolExecutor upstreamPool;
+    private final Map<String, CompletableFuture<TmdbResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter memoryHits;
+    private final Counter diskHits;
+    private final Counter staleHits;
+    private final Counter misses;
+    private final Counter coalesced;
+    private final Counter staleOnError;
+
+    public MoviesService(TmdbClient tmdbClient, ObjectProvider<TmdbFetchListener> fetchListeners,
+                         MeterRegistry meterRegistry,
+                         @Value("${app.tmdb.ttl.search-seconds:600}") long searchTtlSeconds,
+                         @Value("${app.tmdb.ttl.discover-seconds:1800}") long discoverTtlSeconds,
+                         @Value("${app.tmdb.ttl.trending-seconds:900}") long trendingTtlSeconds,
+                         @Value("${app.tmdb.ttl.details-seconds:86400}") long detailsTtlSeconds,
+                         @Value("${app.tmdb.stale-while-revalidate-seconds:3600}") long staleSeconds,
+                         @Value("${app.tmdb.cache.memory-bytes:33554432}") long memoryBytes,
+                         @Value("${app.tmdb.cache.dir:cache/tmdb}") String diskDir,
+                         @Value("${app.tmdb.cache.disk-max-bytes:536870912}") long diskMaxBytes,
+                         @Value("${app.tmdb.upstream-concurrency:8}") int upstreamConcurrency,
+                         @Value("${app.tmdb.upstream-queue:256}") int upstreamQueue,
+                         @Value("${app.tmdb.wait-timeout-ms:10000}") long waitTimeoutMs) throws IOException {
+        this.tmdbClient = tmdbClient;
+        this.fetchListeners = fetchListeners;
+        ttlMillis.put(Kind.SEARCH, TimeUnit.SECONDS.toMillis(searchTtlSeconds));
+        ttlMillis.put(Kind.DISCOVER, TimeUnit.SECONDS.toMillis(discoverTtlSeconds));
+        ttlMillis.put(Kind.TRENDING, TimeUnit.SECONDS.toMillis(trendingTtlSeconds));
+        ttlMillis.put(Kind.DETAILS, TimeUnit.SECONDS.toMillis(detailsTtlSeconds));
+        this.staleMillis = TimeUnit.SECONDS.toMillis(staleSeconds);
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.diskDir = Files.createDirectories(Paths.get(diskDir));
+        this.diskMaxBytes = diskMaxBytes;
+
+        long longestLife = ttlMillis.values().stream().mapToLong(Long::longValue).max().orElse(0) + staleMillis;
+        this.memory = Caffeine.newBuilder()
+                .maximumWeight(memoryBytes)
+                .weigher((String key, TmdbResponse response) -> key.length() + response.body().length)
+                .expireAfterWrite(longestLife, TimeUnit.MILLISECONDS)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, memory, "tmdb.memory");
+
+        AtomicInteger threadCounter = new AtomicInteger();
+        this.upstreamPool = new ThreadPoolExecutor(upstreamConcurrency, upstreamConcurrency, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(upstreamQueue), runnable -> {
+                    Thread thread = new Thread(runnable, "tmdb-upstream-" + threadCounter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.memoryHits = counter(meterRegistry, "memory");
+        this.diskHits = counter(meterRegistry, "disk");
+        this.staleHits = counter(meterRegistry, "stale");
+        this.misses = counter(meterRegistry, "miss");
+        this.coalesced = counter(meterRegistry, "coalesced");
+        this.staleOnError = counter(meterRegistry, "stale-on-error");
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("seatflix.tmdb.requests").tag("result", result).register(meterRegistry);
+    }
+
+    /**
+     * Get a TMDB response, from cache when possible
+     * @throws TmdbUpstreamException if there is nothing cached and TMDB fails
+     */
+    public TmdbResponse get(Kind kind, String pathAndQuery) {
+        long now = System.currentTimeMillis();
+        long ttl = ttlMillis.get(kind);
+        TmdbResponse cached = lookup(pathAndQuery);
+        if (cached != null) {
+            long age = cached.ageMillis(now);
+            if (age < ttl) {
+                return cached;
+            }
+            if (age < ttl + staleMillis) {
+                staleHits.increment();
+                fetchShared(pathAndQuery); // refresh in the background, result not awaited
+                return cached;
+            }
+        }
+
+        misses.increment();
+        try {
+            return await(fetchShared(pathAndQuery));
+        } catch (TmdbUpstreamException e) {
+            if (cached != null && e.getStatus() != 404) {
+                staleOnError.increment();
+                return cached;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Seconds a response of this kind may still be cached by the client
+     */
+    public long remainingFreshSeconds(Kind kind, TmdbResponse response) {
+        long remaining = ttlMillis.get(kind) - response.ageMillis(System.currentTimeMillis());
+        return Math.max(0, TimeUnit.MILLISECONDS.toSeconds(remaining));
+    }
+
+    private TmdbResponse lookup(String key) {
+        TmdbResponse cached = memory.getIfPresent(key);
+        if (cached != null) {
+            memoryHits.increment();
+            return cached;
+        }
+        cached = readDisk(key);
+        if (cached != null) {
+            diskHits.increment();
+            memory.put(key, cached);
+            notifyFetched(key, cached);
+        }
+        return cached;
+    }
+
+    // Single flight: the first caller starts the upstream call, everyone else joins it
+    private CompletableFuture<TmdbResponse> fetchShared(String key) {
+        CompletableFuture<TmdbResponse> created = new CompletableFuture<>();
+        CompletableFuture<TmdbResponse> existing = inFlight.putIfAbsent(key, created);
+        if (existing != null) {
+            coalesced.increment();
+            return existing;
+        }
+        try {
+            upstreamPool.execute(() -> {
+                try {
+                    TmdbResponse response = new TmdbResponse(tmdbClient.get(key), System.currentTimeMillis());
+                    memory.put(key, response);
+                    writeDisk(key, response);
+                    created.complete(response);
+                    notifyFetched(key, response);
+                } catch (Throwable t) {
+                    created.completeExceptionally(t);
+                } finally {
+                    inFlight.remove(key, created);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key, created);
+            created.completeExceptionally(new TmdbUpstreamException("Too many pending TMDB requests", 503));
+        }
+        return created;
+    }
+
+    private void notifyFetched(String key, TmdbResponse response) {
+        fetchListeners.orderedStream().forEach(listener -> {
+            try {
+                listener.onFetched(key, response.body());
+            } catch (RuntimeException e) {
+                log.debug("TMDB fetch listener failed for {}", key, e);
+            }
+        });
+    }
+
+    private TmdbResponse await(CompletableFuture<TmdbResponse> future) {
+        try {
+            return future.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TmdbUpstreamException("Interrupted waiting for TMDB", e);
+        } catch (TimeoutException e) {
+            throw new TmdbUpstreamException("Timed out waiting for TMDB", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TmdbUpstreamException upstream) {
+                throw upstream;
+            }
+            throw new TmdbUpstreamException("TMDB request failed", e.getCause());
+        }
+    }
+
+    private TmdbResponse readDisk(String key) {
+        Path file = diskPath(key);
+        try {
+            FileTime fetchedAt = Files.getLastModifiedTime(file);
+            return new TmdbResponse(Files.readAllBytes(file), fetchedAt.toMillis());
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.debug("Could not read cached TMDB response {}", file, e);
+            return null;
+        }
+    }
+
+    // The file's modification time records when the body was fetched
+    private void writeDisk(String key, TmdbResponse response) {
+        Path file = diskPath(key);
+        try {
+            Path temp = Files.createTempFile(diskDir, "tmdb-", ".part");
+            Files.write(temp, response.body());
+            Files.setLastModifiedTime(temp, FileTime.fromMillis(response.fetchedAtMillis()));
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            log.debug("Could not cache TMDB response {}", file, e);
+        }
+    }
+
+    /**
+     * Trim the disk cache to its size limit, oldest responses first
+     */
+    @Scheduled(fixedDelayString = "${app.tmdb.cache.trim-interval-ms:600000}")
+    void trimDisk() {
+        try {
+            List<Path> files;
+            try (Stream<Path> stream = Files.list(diskDir)) {
+                files = new ArrayList<>(stream.filter(Files::isRegularFile).toList());
+            }
+            long total = 0;
+            for (Path file : files) {
+                total += Files.size(file);
+            }
+            if (total <= diskMaxBytes) {
+                return;
+            }
+            files.sort(Comparator.comparing(MoviesService::lastModified));
+            for (Path file : files) {
+                if (total <= diskMaxBytes) {
+                    break;
+                }
+                long size = Files.size(file);
+                Files.deleteIfExists(file);
+                total -= size;
+            }
+        } catch (IOException e) {
+            log.warn("TMDB disk cache trim failed: {}", e.getMessage());
+        }
+    }
+
+    private Path diskPath(String key) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return diskDir.resolve(HexFormat.of().formatHex(sha256.digest(key.getBytes(StandardCharsets.UTF_8))) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static FileTime lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file);
+        } catch (IOException e) {
+            return FileTime.fromMillis(0);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        upstreamPool.shutdown();
+    }
+}
@@ -0,0 +1,274 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Immutable prefix index over normalized titles, with the best matches precomputed per prefix
+ * Every title is indexed from its start and from the start of each following word, so
+ * "knight" finds "The Dark Knight". Titles are numbered best first, so the top-K of a trie
+ * node is simply its K smallest title numbers; a node with one child and no title of its own
+ * shares its child's list. The trie is stored in flat arrays with each node's children
+ * contiguous and sorted, so a lookup is one binary search per query character.
+ */
+final class SuggestIndex {
+
+    static final int MAX_KEY_LENGTH = 80;
+    private static final int MAX_WORD_STARTS = 6;
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^\\p{L}\\p{N}]+");
+
+    static final SuggestIndex EMPTY = build(List.of(), new double[0], 1);
+
+    private final Suggestion[] titles;   // best first
+    private final double[] scores;
+    private final char[] labels;         // label of the edge into each node
+    private final int[] firstChild;
+    private final int[] childCount;
+    private final int[] topStart;
+    private final int[] topLength;
+    private final int[] topPool;
+
+    private SuggestIndex(Suggestion[] titles, double[] scores, char[] labels, int[] firstChild, int[] childCount,
+                         int[] topStart, int[] topLength, int[] topPool) {
+        this.titles = titles;
+        this.scores = scores;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.topLength = topLength;
+        this.topPool = topPool;
+    }
+
+    /**
+     * Build an index
+     * @param ranked titles, best first
+     * @param scores score of each title, non-increasing
+     * @param topK matches kept per prefix
+     */
+    static SuggestIndex build(List<Suggestion> ranked, double[] scores, int topK) {
+        BuildNode root = new BuildNode('\0');
+        int nodes = 1;
+        for (int i = 0; i < ranked.size(); i++) {
+            for (String key : keys(normalize(ranked.get(i).title()))) {
+                nodes += root.insert(key, i);
+            }
+        }
+        root.computeTop(topK);
+
+        // Breadth first, so the children of every node get consecutive numbers
+        char[] labels = new char[nodes];
+        int[] firstChild = new int[nodes];
+        int[] childCount = new int[nodes];
+        int[] topStart = new int[nodes];
+        int[] topLength = new int[nodes];
+        Map<int[], Integer> pooled = new IdentityHashMap<>();
+        IntList pool = new IntList();
+
+        BuildNode[] queue = new BuildNode[nodes];
+        queue[0] = root;
+        int next = 1;
+        for (int n = 0; n < nodes; n++) {
+            BuildNode node = queue[n];
+            labels[n] = node.label;
+            Integer start = pooled.get(node.top);
+            if (start == null) {
+                start = pool.size;
+                pool.addAll(node.top);
+                pooled.put(node.top, start);
+            }
+            topStart[n] = start;
+            topLength[n] = node.top.length;
+
+            node.sortChildren();
+            firstChild[n] = next;
+            childCount[n] = node.childCount;
+            for (int c = 0; c < node.childCount; c++) {
+                queue[next++] = node.children[c];
+            }
+            queue[n] = null;
+        }
+        return new SuggestIndex(ranked.toArray(new Suggestion[0]), Arrays.copyOf(scores, ranked.size()),
+                labels, firstChild, childCount, topStart, topLength, pool.toArray());
+    }
+
+    /**
+     * Best titles with a word starting with the normalized prefix
+     * @return title numbers, best first
+     */
+    int[] lookup(String normalizedPrefix, int limit) {
+        int node = 0;
+        for (int i = 0; i < normalizedPrefix.length(); i++) {
+            node = child(node, normalizedPrefix.charAt(i));
+            if (node < 0) {
+                return new int[0];
+            }
+        }
+        return Arrays.copyOfRange(topPool, topStart[node], topStart[node] + Math.min(limit, topLength[node]));
+    }
+
+    Suggestion title(int number) {
+        return titles[number];
+    }
+
+    double score(int number) {
+        return scores[number];
+    }
+
+    int size() {
+        return titles.length;
+    }
+
+    private int child(int node, char label) {
+        int low = firstChild[node];
+        int high = low + childCount[node] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (labels[mid] < label) {
+                low = mid + 1;
+            } else if (labels[mid] > label) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Lower case, accents removed, runs of anything but letters and digits turned into one space
+     */
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String plain = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        String normalized = SEPARATORS.matcher(plain.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+        return normalized.length() > MAX_KEY_LENGTH ? normalized.substring(0, MAX_KEY_LENGTH) : normalized;
+    }
+
+    // The whole title and its tail from each later word start
+    private static List<String> keys(String normalized) {
+        List<String> keys = new ArrayList<>();
+        if (normalized.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalized);
+        for (int i = normalized.indexOf(' '); i >= 0 && keys.size() <= MAX_WORD_STARTS; i = normalized.indexOf(' ', i + 1)) {
+            keys.add(normalized.substring(i + 1));
+        }
+        return keys;
+    }
+
+    private static final class BuildNode {
+        private static final int[] NONE = new int[0];
+
+        private final char label;
+        private BuildNode[] children;
+        private int childCount;
+        private int[] terminals = NONE;
+        private int[] top = NONE;
+
+        private BuildNode(char label) {
+            this.label = label;
+        }
+
+        // Returns the number of nodes created
+        private int insert(String key, int title) {
+            int created = 0;
+            BuildNode node = this;
+            for (int i = 0; i < key.length(); i++) {
+                char c = key.charAt(i);
+                BuildNode child = node.find(c);
+                if (child == null) {
+                    child = node.add(c);
+                    created++;
+                }
+                node = child;
+            }
+            node.terminals = Arrays.copyOf(node.terminals, node.terminals.length + 1);
+            node.terminals[node.terminals.length - 1] = title;
+            return created;
+        }
+
+        private BuildNode find(char c) {
+            for (int i = 0; i < childCount; i++) {
+                if (children[i].label == c) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private BuildNode add(char c) {
+            if (children == null) {
+                children = new BuildNode[2];
+            } else if (childCount == children.length) {
+                children = Arrays.copyOf(children, childCount * 2);
+            }
+            BuildNode child = new BuildNode(c);
+            children[childCount++] = child;
+            return child;
+        }
+
+        private void sortChildren() {
+            if (childCount > 1) {
+                Arrays.sort(children, 0, childCount, (a, b) -> Character.compare(a.label, b.label));
+            }
+        }
+
+        // Post-order: the K smallest distinct title numbers below this node
+        private void computeTop(int k) {
+            for (int i = 0; i < childCount; i++) {
+                children[i].computeTop(k);
+            }
+            if (terminals.length == 0 && childCount == 1) {
+                top = children[0].top;
+                return;
+            }
+            if (childCount == 0 && terminals.length <= k) {
+                top = terminals; // inserted in title order, so already sorted and distinct
+                return;
+            }
+            IntList merged = new IntList();
+            merged.addAll(terminals);
+            for (int i = 0; i < childCount; i++) {
+                merged.addAll(children[i].top);
+            }
+            int[] candidates = merged.toArray();
+            Arrays.sort(candidates);
+            int[] best = new int[Math.min(k, candidates.length)];
+            int size = 0;
+            for (int i = 0; i < candidates.length && size < best.length; i++) {
+                if (size == 0 || best[size - 1] != candidates[i]) {
+                    best[size++] = candidates[i];
+                }
+            }
+            top = size == best.length ? best : Arrays.copyOf(best, size);
+        }
+    }
+
+    private static final class IntList {
+        private int[] values = new int[16];
+        private int size;
+
+        private void addAll(int[] more) {
+            if (size + more.length > values.length) {
+                values = Arrays.copyOf(values, Math.max(values.length * 2, size + more.length));
+            }
+            System.arraycopy(more, 0, values, size, more.length);
+            size += more.length;
+        }
+
+        private int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.analytics.SearchTermRepository;
+import com.Mind_Forge_SeatFlix.SeatFlix.analytics.TrendingMovie;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Title typeahead for /api/v1/movies/suggest, answered from memory without calling TMDB
+ * Titles come from the TMDB bodies MoviesService fetches and from an optional seed file
+ * (TMDB daily export format, NDJSON, optionally gzipped). Bodies are only queued on the
+ * request path; a single background thread parses them, ranks titles by TMDB popularity and
+ * our own search counts, rebuilds the {@link SuggestIndex} and swaps it in atomically.
+ */
+@Service
+public class SuggestService implements TmdbFetchListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SuggestService.class);
+
+    private static final List<String> MEDIA_TYPES = List.of("movie", "tv");
+    private static final Pattern DETAILS_PATH = Pattern.compile("/(movie|tv)/\\d+");
+    private static final Pattern LIST_PATH = Pattern.compile("/(?:search|discover|trending)/(movie|tv)\\b.*");
+
+    private final SearchTermRepository searchTermRepository;
+    private final ObjectMapper objectMapper;
+    private final int topK;
+    private final int maxTitles;
+    private final long boostRefreshMillis;
+    private final String seedFile;
+    private final BlockingQueue<FetchedBody> fetched;
+    private final ScheduledExecutorService indexThread;
+
+    // Index thread only
+    private final Map<String, Title> titles = new HashMap<>();
+    private Map<Long, Long> searchCounts = Map.of();
+    private long boostsReadAtMillis;
+    private long nextRebuildAtMillis;
+    private boolean dirty;
+
+    private volatile Map<String, SuggestIndex> indexes = Map.of("movie", SuggestIndex.EMPTY, "tv", SuggestIndex.EMPTY);
+
+    private final Counter droppedBodies;
+    private final Timer rebuildTimer;
+
+    public SuggestService(SearchTermRepository searchTermRepository, ObjectMapper objectMapper,
+                          MeterRegistry meterRegistry,
+                          @Value("${app.tmdb.suggest.top-k:10}") int topK,
+                          @Value("${app.tmdb.suggest.max-titles:500000}") int maxTitles,
+                          @Value("${app.tmdb.suggest.queue-capacity:256}") int queueCapacity,
+                          @Value("${app.tmdb.suggest.rebuild-interval-ms:5000}") long rebuildIntervalMs,
+                          @Value("${app.tmdb.suggest.boost-refresh-ms:300000}") long boostRefreshMs,
+                          @Value("${app.tmdb.suggest.seed-file:}") String seedFile) {
+        this.searchTermRepository = searchTermRepository;
+        this.objectMapper = objectMapper;
+        this.topK = topK;
+        this.maxTitles = maxTitles;
+        this.boostRefreshMillis = boostRefreshMs;
+        this.seedFile = seedFile;
+        this.fetched = new ArrayBlockingQueue<>(queueCapacity);
+
+        this.droppedBodies = Counter.builder("seatflix.suggest.dropped")
+                .description("Fetched TMDB bodies not indexed because the queue was full")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("seatflix.suggest.rebuild").register(meterRegistry);
+        Gauge.builder("seatflix.suggest.titles", this, service -> service.indexes.values().stream()
+                .mapToInt(SuggestIndex::size).sum()).register(meterRegistry);
+
+        // Own thread, so loading the seed file or a rebuild never delays the @Scheduled jobs
+        this.indexThread = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "suggest-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        indexThread.execute(this::loadSeed);
+        indexThread.scheduleWithFixedDelay(this::refresh, rebuildIntervalMs, rebuildIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Best titles with a word starting with the query
+     * @param mediaType movie, tv, or null for both
+     */
+    public List<Suggestion> suggest(String query, String mediaType, int limit) {
+        String prefix = SuggestIndex.normalize(query);
+        if (prefix.isEmpty()) {
+            return List.of();
+        }
+        Map<String, SuggestIndex> current = indexes;
+        if (mediaType != null) {
+            SuggestIndex index = current.get(mediaType);
+            List<Suggestion> result = new ArrayList<>(limit);
+            for (int number : index.lookup(prefix, limit)) {
+                result.add(index.title(number));
+            }
+            return result;
+        }
+
+        // Both lists are best first; merge them by score
+        SuggestIndex movies = current.get("movie");
+        SuggestIndex shows = current.get("tv");
+        int[] movieHits = movies.lookup(prefix, limit);
+        int[] showHits = shows.lookup(prefix, limit);
+        List<Suggestion> result = new ArrayList<>(limit);
+        int m = 0;
+        int s = 0;
+        while (result.size() < limit && (m < movieHits.length || s < showHits.length)) {
+            boolean takeMovie = s == showHits.length
+                    || (m < movieHits.length && movies.score(movieHits[m]) >= shows.score(showHits[s]));
+            result.add(takeMovie ? movies.title(movieHits[m++]) : shows.title(showHits[s++]));
+        }
+        return result;
+    }
+
+    public int topK() {
+        return topK;
+    }
+
+    // Only hands the body to the index thread; a full queue drops it
+    @Override
+    public void onFetched(String pathAndQuery, byte[] body) {
+        if (!fetched.offer(new FetchedBody(pathAndQuery, body))) {
+            droppedBodies.increment();
+        }
+    }
+
+    private void refresh() {
+        try {
+            FetchedBody body;
+            while ((body = fetched.poll()) != null) {
+                index(body);
+            }
+            long now = System.currentTimeMillis();
+            if (now - boostsReadAtMillis >= boostRefreshMillis) {
+                readSearchCounts();
+                boostsReadAtMillis = now;
+            }
+            if (dirty && now >= nextRebuildAtMillis) {
+                long started = System.nanoTime();
+                rebuild();
+                dirty = false;
+                // Large indexes take seconds to build; keep rebuilding to about a tenth of one core
+                nextRebuildAtMillis = System.currentTimeMillis()
+                        + 9 * TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            }
+        } catch (RuntimeException e) {
+            // Keep the schedule alive; the current index stays in place
+            log.warn("Suggest index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void index(FetchedBody fetchedBody) {
+        String path = fetchedBody.pathAndQuery();
+        Matcher details = DETAILS_PATH.matcher(path);
+        Matcher list = LIST_PATH.matcher(path);
+        try {
+            if (details.matches()) {
+                put(objectMapper.readTree(fetchedBody.body()), details.group(1));
+            } else if (list.matches()) {
+                JsonNode results = objectMapper.readTree(fetchedBody.body()).path("results");
+                for (JsonNode result : results) {
+                    put(result, result.path("media_type").asText(list.group(1)));
+                }
+            }
+        } catch (IOException e) {
+            log.debug("Could not index TMDB body for {}", path, e);
+        }
+    }
+
+    // Seed lines follow the TMDB daily exports: movies have original_title, shows original_name
+    private void loadSeed() {
+        if (seedFile == null || seedFile.isBlank()) {
+            return;
+        }
+        Path file = Paths.get(seedFile);
+        long started = System.nanoTime();
+        int before = titles.size();
+        try (InputStream raw = Files.newInputStream(file);
+             InputStream in = seedFile.endsWith(".gz") ? new GZIPInputStream(raw) : raw;
+             BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                JsonNode node = objectMapper.readTree(line);
+                if (node.path("adult").asBoolean(false)) {
+                    continue;
+                }
+                String mediaType = node.has("media_type") ? node.get("media_type").asText()
+                        : node.has("original_name") || node.has("name") ? "tv" : "movie";
+                put(node, mediaType);
+            }
+            log.info("Loaded {} suggest titles from {} in {} ms", titles.size() - before, file,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not load suggest seed file {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void put(JsonNode node, String mediaType) {
+        long id = node.path("id").asLong(0);
+        String title = firstText(node, "title", "name", "original_title", "original_name");
+        if (id <= 0 || title == null || !MEDIA_TYPES.contains(mediaType)) {
+            return;
+        }
+        String key = mediaType + ":" + id;
+        if (!titles.containsKey(key) && titles.size() >= maxTitles) {
+            return;
+        }
+        String date = firstText(node, "release_date", "first_air_date");
+        String year = date != null && date.length() >= 4 ? date.substring(0, 4) : null;
+        Title previous = titles.get(key);
+        String posterPath = firstText(node, "poster_path");
+        titles.put(key, new Title(new Suggestion(id, mediaType, title,
+                year != null || previous == null ? year : previous.suggestion().year(),
+                posterPath != null || previous == null ? posterPath : previous.suggestion().posterPath()),
+                node.path("popularity").asDouble(previous == null ? 0 : previous.popularity())));
+        dirty = true;
+    }
+
+    private void readSearchCounts() {
+        try {
+            Map<Long, Long> counts = new HashMap<>();
+            for (TrendingMovie movie : searchTermRepository.findTrendingMovies(Limit.unlimited())) {
+                counts.put(movie.movieId(), movie.count());
+            }
+            if (!counts.equals(searchCounts)) {
+                searchCounts = counts;
+                dirty = true;
+            }
+        } catch (DataAccessException e) {
+            log.debug("Could not read search counts for suggest ranking", e);
+        }
+    }
+
+    private void rebuild() {
+        long started = System.nanoTime();
+        Map<String, List<Title>> byType = new HashMap<>();
+        for (Title title : titles.values()) {
+            byType.computeIfAbsent(title.suggestion().mediaType(), type -> new ArrayList<>()).add(title);
+        }
+
+        Map<String, SuggestIndex> rebuilt = new HashMap<>();
+        for (String mediaType : MEDIA_TYPES) {
+            List<Ranked> ranked = new ArrayList<>();
+            for (Title title : byType.getOrDefault(mediaType, List.of())) {
+                ranked.add(new Ranked(title.suggestion(), score(title)));
+            }
+            ranked.sort(Comparator.comparingDouble(Ranked::score).reversed()
+                    .thenComparing(entry -> entry.suggestion().title()));
+
+            List<Suggestion> suggestions = new ArrayList<>(ranked.size());
+            double[] scores = new double[ranked.size()];
+            for (int i = 0; i < ranked.size(); i++) {
+                suggestions.add(ranked.get(i).suggestion());
+                scores[i] = ranked.get(i).score();
+            }
+            rebuilt.put(mediaType, SuggestIndex.build(suggestions, scores, topK));
+        }
+        indexes = Map.copyOf(rebuilt);
+        rebuildTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+    }
+
+    // TMDB popularity and our own searches; search counts are keyed by TMDB id only
+    private double score(Title title) {
+        long searches = searchCounts.getOrDefault(title.suggestion().id(), 0L);
+        return Math.log1p(title.popularity()) + Math.log1p(searches);
+    }
+
+    private static String firstText(JsonNode node, String... fields) {
+        for (String field : fields) {
+            JsonNode value = node.get(field);
+            if (value != null && value.isTextual() && !value.asText().isBlank()) {
+                return value.asText();
+            }
+        }
+        return null;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        indexThread.shutdownNow();
+    }
+
+    private record FetchedBody(String pathAndQuery, byte[] body) {
+    }
+
+    private record Title(Suggestion suggestion, double popularity) {
+    }
+
+    private record Ranked(Suggestion suggestion, double score) {
+    }
+}
@@ -0,0 +1,9 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+/**
+ * One typeahead suggestion
+ * @param mediaType movie or tv
+ * @param year release or first air year, or null if unknown
+ */
+public record Suggestion(long id, String mediaType, String title, String year, String posterPath) {
+}
@@ -0,0 +1,75 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Minimal TMDB v3 client returning raw JSON bodies
+ * The base URL is configurable so the proxy can run against a local stub server.
+ */
+@Component
+public class TmdbClient {
+
+    private final HttpClient httpClient;
+    private final String baseUrl;
+    private final String apiKey;
+    private final Duration requestTimeout;
+    private final Timer upstreamTimer;
+
+    public TmdbClient(MeterRegistry meterRegistry,
+                      @Value("${app.tmdb.base-url:https://api.themoviedb.org/3}") String baseUrl,
+                      @Value("${app.tmdb.api-key:}") String apiKey,
+                      @Value("${app.tmdb.timeout-ms:5000}") long timeoutMs) {
+        this.baseUrl = baseUrl.endsWith("/") ? baseUrl.substring(0, baseUrl.length() - 1) : baseUrl;
+        this.apiKey = apiKey;
+        this.requestTimeout = Duration.ofMillis(timeoutMs);
+        this.httpClient = HttpClient.newBuilder()
+                .connectTimeout(requestTimeout)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+        this.upstreamTimer = Timer.builder("seatflix.tmdb.upstream")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+    }
+
+    /**
+     * GET a TMDB path such as /tv/1399?language=en-US
+     * @throws TmdbUpstreamException on transport errors and non-2xx responses
+     */
+    public byte[] get(String pathAndQuery) {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create(baseUrl + pathAndQuery))
+                .timeout(requestTimeout)
+                .header("Accept", "application/json")
+                .GET();
+        if (!apiKey.isBlank()) {
+            request.header("Authorization", "Bearer " + apiKey);
+        }
+
+        long started = System.nanoTime();
+        try {
+            HttpResponse<byte[]> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+            if (response.statusCode() / 100 != 2) {
+                throw new TmdbUpstreamException("TMDB returned " + response.statusCode() + " for " + pathAndQuery,
+                        response.statusCode());
+            }
+            return response.body();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TmdbUpstreamException("Interrupted calling TMDB", e);
+        } catch (IOException e) {
+            throw new TmdbUpstreamException("TMDB request failed: " + e.getMessage(), e);
+        } finally {
+            upstreamTimer.record(Duration.ofNanos(System.nanoTime() - started));
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+/**
+ * Notified with every TMDB body MoviesService fetches from TMDB or reloads from its disk cache
+ * Called on request and upstream threads, so implementations must only hand the body off.
+ */
+@FunctionalInterface
+public interface TmdbFetchListener {
+
+    void onFetched(String pathAndQuery, byte[] body);
+}
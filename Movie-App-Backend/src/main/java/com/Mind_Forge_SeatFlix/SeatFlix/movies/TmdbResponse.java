@@ -0,0 +1,11 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+/**
+ * A cached TMDB JSON body and when it was fetched
+ */
+public record TmdbResponse(byte[] body, long fetchedAtMillis) {
+
+    long ageMillis(long now) {
+        return now - fetchedAtMillis;
+    }
+}
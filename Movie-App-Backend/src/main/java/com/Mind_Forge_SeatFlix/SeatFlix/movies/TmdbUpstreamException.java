@@ -0,0 +1,26 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+/**
+ * TMDB could not be reached or answered with an error
+ */
+public class TmdbUpstreamException extends RuntimeException {
+
+    private final int status;
+
+    public TmdbUpstreamException(String message, int status) {
+        super(message);
+        this.status = status;
+    }
+
+    public TmdbUpstreamException(String message, Throwable cause) {
+        super(message, cause);
+        this.status = 0;
+    }
+
+    /**
+     * Upstream HTTP status, or 0 if no response was received
+     */
+    public int getStatus() {
+        return status;
+    }
+}
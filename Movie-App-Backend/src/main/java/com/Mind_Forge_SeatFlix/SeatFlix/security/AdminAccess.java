@@ -0,0 +1,42 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides who is an administrator, by user id
+ * Ids never change, unlike usernames, which any user can change on their own account.
+ * Admins get ROLE_ADMIN in the security context, which the admin-only endpoints require.
+ */
+@Component
+public class AdminAccess {
+
+    public static final String ROLE = "ADMIN";
+    private static final List<GrantedAuthority> ADMIN_AUTHORITIES = List.of(new SimpleGrantedAuthority("ROLE_" + ROLE));
+
+    private final Set<Long> adminUserIds;
+
+    public AdminAccess(@Value("${app.admin.user-ids:}") String adminUserIds) {
+        this.adminUserIds = Arrays.stream(adminUserIds.split(","))
+                .map(String::trim)
+                .filter(id -> !id.isEmpty())
+                .map(Long::valueOf)
+                .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public boolean isAdmin(Long userId) {
+        return userId != null && adminUserIds.contains(userId);
+    }
+
+    /** Authorities for the security context of a user */
+    public List<GrantedAuthority> authorities(Long userId) {
+        return isAdmin(userId) ? ADMIN_AUTHORITIES : List.of();
+    }
+}
@@ -0,0 +1,94 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cheap logging for the per-request authentication path
+ * Successes are counted and summarised once per interval (optionally sampled at DEBUG),
+ * failures are logged at most once per interval per cause, and every message is
+ * parameterized so nothing is formatted when the level is disabled.
+ * Output goes to the "seatflix.auth" logger, which logback-spring.xml routes asynchronously.
+ */
+@Component
+public class AuthEventLogger {
+
+    private static final Logger log = LoggerFactory.getLogger("seatflix.auth");
+
+    private final LongAdder successes = new LongAdder();
+    private final Map<String, FailureWindow> failures = new ConcurrentHashMap<>();
+
+    @Value("${app.logging.auth.success-sample-rate:0}")
+    private int successSampleRate;
+
+    @Value("${app.logging.auth.failure-interval-ms:10000}")
+    private long failureIntervalMs;
+
+    @Value("${app.logging.auth.summary-interval-ms:60000}")
+    private long summaryIntervalMs;
+
+    /**
+     * Record a successful authentication; logs 1 in success-sample-rate events at DEBUG
+     */
+    public void success(String username) {
+        successes.increment();
+        if (successSampleRate > 0 && log.isDebugEnabled()
+                && ThreadLocalRandom.current().nextInt(successSampleRate) == 0) {
+            log.debug("Authentication successful for user: {} (sampled 1/{})", username, successSampleRate);
+        }
+    }
+
+    /**
+     * Record a failed authentication; logs at most once per interval for each cause
+     * Stack traces are only included at DEBUG.
+     */
+    public void failure(String cause, String detail, Throwable error) {
+        FailureWindow window = failures.computeIfAbsent(cause, key -> new FailureWindow());
+        window.total.increment();
+
+        long now = System.currentTimeMillis();
+        long nextAllowed = window.nextLogAt.get();
+        if (now < nextAllowed || !window.nextLogAt.compareAndSet(nextAllowed, now + failureIntervalMs)) {
+            window.suppressed.increment();
+            return;
+        }
+
+        long suppressed = window.suppressed.sumThenReset();
+        if (error != null && log.isDebugEnabled()) {
+            log.debug("Authentication failed [{}]: {} ({} similar suppressed)", cause, detail, suppressed, error);
+        } else {
+            log.warn("Authentication failed [{}]: {} ({} similar suppressed)", cause, detail, suppressed);
+        }
+    }
+
+    /**
+     * Emit one aggregated line per interval instead of one line per request
+     */
+    @Scheduled(fixedDelayString = "${app.logging.auth.summary-interval-ms:60000}")
+    void logSummary() {
+        long succeeded = successes.sumThenReset();
+        long failed = 0;
+        for (FailureWindow window : failures.values()) {
+            failed += window.total.sumThenReset();
+        }
+        if (succeeded > 0 || failed > 0) {
+            log.info("Authentication summary for last {} ms: {} succeeded, {} failed",
+                    summaryIntervalMs, succeeded, failed);
+        }
+    }
+
+    private static final class FailureWindow {
+        private final AtomicLong nextLogAt = new AtomicLong();
+        private final LongAdder suppressed = new LongAdder();
+        private final LongAdder total = new LongAdder();
+    }
+}
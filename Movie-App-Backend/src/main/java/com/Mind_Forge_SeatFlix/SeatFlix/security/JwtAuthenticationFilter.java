@@ -1,12 +1,14 @@
 package com.Mind_Forge_SeatFlix.SeatFlix.security;
 
 import com.Mind_Forge_SeatFlix.SeatFlix.Users.UserDetailsServiceImpl;
-import com.Mind_Forge_SeatFlix.SeatFlix.util.JwtUtil;
+import com.Mind_Forge_SeatFlix.SeatFlix.config.CustomUserDetails;
+import com.Mind_Forge_SeatFlix.SeatFlix.util.VerifiedToken;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -20,10 +22,23 @@ import java.io.IOException;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     @Autowired
-    private JwtUtil jwtUtil;
+    private UserDetailsServiceImpl userDetailsService;
 
     @Autowired
-    private UserDetailsServiceImpl userDetailsService;
+    private TokenVersionService tokenVersionService;
+
+    @Autowired
+    private VerifiedTokenCache verifiedTokenCache;
+
+    @Autowired
+    private AuthEventLogger authEventLogger;
+
+    @Autowired
+    private AdminAccess adminAccess;
+
+    // Build the principal from token claims instead of loading the user on every request
+    @Value("${jwt.stateless-auth.enabled:true}")
+    private boolean statelessAuthEnabled;
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
@@ -32,35 +47,36 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Extract the Authorization header
         final String authorizationHeader = request.getHeader("Authorization");
 
-        String username = null;
-        String jwt = null;
+        VerifiedToken verifiedToken = null;
 
         // Check if header exists and starts with "Bearer "
         if (authorizationHeader != null && authorizationHeader.startsWith("Bearer ")) {
-            jwt = authorizationHeader.substring(7); // Remove "Bearer " prefix
+            String jwt = authorizationHeader.substring(7); // Remove "Bearer " prefix
             try {
-                username = jwtUtil.extractUsername(jwt);
-                logger.info("JWT token extracted successfully for user: " + username);
+                // Signature and expiry are checked at most once here (skipped on a cache hit)
+                verifiedToken = verifiedTokenCache.verify(jwt);
             } catch (Exception e) {
-                logger.error("JWT token extraction failed: " + e.getMessage(), e);
+                authEventLogger.failure(e.getClass().getSimpleName(), e.getMessage(), e);
                 // Don't return error here - let the request continue without authentication
                 // Spring Security will return 403 for protected endpoints
             }
         } else if (authorizationHeader != null) {
-            logger.warn("Authorization header present but doesn't start with 'Bearer '");
+            authEventLogger.failure("MalformedHeader", "Authorization header present but doesn't start with 'Bearer '", null);
         }
 
-        // If we have a username and no authentication is set in the context
-        if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+        // If we have a verified token and no authentication is set in the context
+        if (verifiedToken != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            String username = verifiedToken.getUsername();
             try {
-                UserDetails userDetails = this.userDetailsService.loadUserByUsername(username);
+                UserDetails userDetails = resolveUserDetails(verifiedToken);
 
-                // Validate the token
-                if (jwtUtil.validateToken(jwt, userDetails)) {
-                    // Create authentication token
+                // The token is already verified, only the subject needs to match
+                if (userDetails != null && username.equals(userDetails.getUsername())) {
+                    // Create authentication token; roles are granted by user id, never taken from the token
+                    Long userId = userDetails instanceof CustomUserDetails custom ? custom.getId() : null;
                     UsernamePasswordAuthenticationToken authenticationToken =
                             new UsernamePasswordAuthenticationToken(
-                                    userDetails, null, userDetails.getAuthorities());
+                                    userDetails, null, adminAccess.authorities(userId));
 
                     // Set additional details
                     authenticationToken.setDetails(
@@ -68,16 +84,34 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
                     // Set the authentication in the context
                     SecurityContextHolder.getContext().setAuthentication(authenticationToken);
-                    logger.info("Authentication successful for user: " + username);
+                    authEventLogger.success(username);
                 } else {
-                    logger.warn("JWT token validation failed for user: " + username);
+                    authEventLogger.failure("RevokedToken", "Token no longer valid for its user", null);
                 }
             } catch (Exception e) {
-                logger.error("Error during authentication: " + e.getMessage(), e);
+                authEventLogger.failure(e.getClass().getSimpleName(), e.getMessage(), e);
             }
         }
 
         // Continue with the filter chain
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * Resolve the principal for a verified token.
+     * Tokens carrying a user id are trusted as-is (subject to the version check);
+     * older tokens without claims fall back to a database lookup.
+     */
+    private UserDetails resolveUserDetails(VerifiedToken verifiedToken) {
+        Long userId = verifiedToken.getUserId();
+        if (statelessAuthEnabled && userId != null) {
+            if (!tokenVersionService.isCurrent(userId, verifiedToken.getTokenVersion())) {
+                return null; // user deleted or token revoked by a newer version
+            }
+            return CustomUserDetails.fromVerifiedToken(verifiedToken);
+        }
+        // Never keep the password hash in the security context
+        UserDetails loaded = userDetailsService.loadUserByUsername(verifiedToken.getUsername());
+        return loaded instanceof CustomUserDetails customUserDetails ? customUserDetails.withoutPassword() : loaded;
+    }
 }
@@ -0,0 +1,18 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+/**
+ * Thrown when the password hashing pool is saturated and the request should be retried later
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public PasswordHashingBusyException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
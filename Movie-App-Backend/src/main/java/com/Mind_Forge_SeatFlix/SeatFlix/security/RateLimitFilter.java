@@ -0,0 +1,230 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Rate limits login and register per client IP and per IP and username, before any BCrypt work
+ * The IP bucket is checked first, so a refused request never has its body read. The
+ * username is then taken from the JSON body with a streaming parser and the body is
+ * replayed to the controller. Username buckets are per client IP as well, so nobody can
+ * lock an account out for everyone else by spending its tokens. Refusals are a bare 429
+ * with Retry-After.
+ * Runs inside the security filter chain after CORS, so browsers can read the 429.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    // Login and register bodies are a few hundred bytes
+    private static final int MAX_BODY_BYTES = 16 * 1024;
+    private static final int MAX_USERNAME_LENGTH = 100;
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final RateLimiter rateLimiter;
+    private final boolean enabled;
+    private final Map<String, Endpoint> endpoints;
+
+    public RateLimitFilter(RateLimiter rateLimiter, MeterRegistry meterRegistry,
+                           @Value("${app.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${app.rate-limit.login.per-ip:20/1m}") String loginPerIp,
+                           @Value("${app.rate-limit.login.per-username:5/1m}") String loginPerUsername,
+                           @Value("${app.rate-limit.register.per-ip:10/10m}") String registerPerIp,
+                           @Value("${app.rate-limit.register.per-username:3/10m}") String registerPerUsername) {
+        this.rateLimiter = rateLimiter;
+        this.enabled = enabled;
+        this.endpoints = Map.of(
+                "/api/v1/users/login", new Endpoint("login", RateLimitRule.parse(loginPerIp),
+                        RateLimitRule.parse(loginPerUsername), meterRegistry),
+                "/api/v1/users/register", new Endpoint("register", RateLimitRule.parse(registerPerIp),
+                        RateLimitRule.parse(registerPerUsername), meterRegistry));
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || !"POST".equals(request.getMethod()) || endpoint(request) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Endpoint endpoint = endpoint(request);
+
+        // Behind a proxy this is the client only with server.forward-headers-strategy set
+        String ip = request.getRemoteAddr();
+        if (endpoint.perIp != null
+                && !admit(endpoint.name + ":ip:" + ip, endpoint.perIp, endpoint.ipRejected, response)) {
+            return;
+        }
+
+        if (endpoint.perUsername != null) {
+            byte[] body = request.getInputStream().readNBytes(MAX_BODY_BYTES + 1);
+            if (body.length > MAX_BODY_BYTES) {
+                response.sendError(HttpStatus.PAYLOAD_TOO_LARGE.value());
+                return;
+            }
+            String username = username(body);
+            if (username != null
+                    && !admit(endpoint.name + ":user:" + ip + ":" + username, endpoint.perUsername,
+                            endpoint.usernameRejected, response)) {
+                return;
+            }
+            request = new CachedBodyRequest(request, body);
+        }
+
+        endpoint.allowed.increment();
+        filterChain.doFilter(request, response);
+    }
+
+    private Endpoint endpoint(HttpServletRequest request) {
+        return endpoints.get(request.getRequestURI().substring(request.getContextPath().length()));
+    }
+
+    private boolean admit(String key, RateLimitRule rule, Counter rejected, HttpServletResponse response) {
+        long waitMillis = rateLimiter.tryAcquire(key, rule);
+        if (waitMillis == 0) {
+            return true;
+        }
+        rejected.increment();
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitMillis + 999) / 1000));
+        return false;
+    }
+
+    // Top-level "username" of a JSON object; null if absent or the body is not JSON
+    private static String username(byte[] body) {
+        try (JsonParser parser = JSON.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            for (JsonToken token = parser.nextToken(); token == JsonToken.FIELD_NAME; token = parser.nextToken()) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if ("username".equals(field) && value == JsonToken.VALUE_STRING) {
+                    String username = parser.getText().strip().toLowerCase(Locale.ROOT);
+                    if (username.isEmpty()) {
+                        return null;
+                    }
+                    return username.length() > MAX_USERNAME_LENGTH ? username.substring(0, MAX_USERNAME_LENGTH) : username;
+                }
+                parser.skipChildren();
+            }
+            return null;
+        } catch (IOException e) {
+            return null;
+        }
+    }
+
+    private static final class Endpoint {
+        private final String name;
+        private final RateLimitRule perIp;
+        private final RateLimitRule perUsername;
+        private final Counter allowed;
+        private final Counter ipRejected;
+        private final Counter usernameRejected;
+
+        private Endpoint(String name, RateLimitRule perIp, RateLimitRule perUsername, MeterRegistry meterRegistry) {
+            this.name = name;
+            this.perIp = perIp;
+            this.perUsername = perUsername;
+            this.allowed = Counter.builder("seatflix.ratelimit.requests")
+                    .tag("endpoint", name).tag("outcome", "allowed").tag("limit", "none")
+                    .register(meterRegistry);
+            this.ipRejected = Counter.builder("seatflix.ratelimit.requests")
+                    .tag("endpoint", name).tag("outcome", "rejected").tag("limit", "ip")
+                    .register(meterRegistry);
+            this.usernameRejected = Counter.builder("seatflix.ratelimit.requests")
+                    .tag("endpoint", name).tag("outcome", "rejected").tag("limit", "username")
+                    .register(meterRegistry);
+        }
+    }
+
+    // Replays a body that was already read, so the controller can bind it
+    private static final class CachedBodyRequest extends HttpServletRequestWrapper {
+        private final byte[] body;
+
+        private CachedBodyRequest(HttpServletRequest request, byte[] body) {
+            super(request);
+            this.body = body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream in = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return in.read();
+                }
+
+                @Override
+                public int read(byte[] b, int off, int len) {
+                    return in.read(b, off, len);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return in.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                // The whole body is already in memory, so async readers get it in one callback
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding == null ? StandardCharsets.UTF_8 : Charset.forName(encoding);
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+
+        @Override
+        public int getContentLength() {
+            return body.length;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return body.length;
+        }
+    }
+}
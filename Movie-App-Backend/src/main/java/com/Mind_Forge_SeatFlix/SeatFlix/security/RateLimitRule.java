@@ -0,0 +1,40 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import java.time.Duration;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * Token bucket of {@code capacity} requests, refilled completely over {@code period}
+ * Written as "capacity/period" in properties, e.g. "10/1m" allows a burst of 10 and then
+ * one request every 6 seconds. An empty value means no limit.
+ */
+public record RateLimitRule(int capacity, Duration period) {
+
+    public RateLimitRule {
+        if (capacity <= 0 || period.toMillis() < capacity) {
+            throw new IllegalArgumentException("Rate limit needs a positive capacity and at least 1 ms per request");
+        }
+    }
+
+    /**
+     * @return the rule, or null for an empty value
+     * @throws IllegalArgumentException if the value is not "capacity/period"
+     */
+    public static RateLimitRule parse(String value) {
+        if (value == null || value.isBlank()) {
+            return null;
+        }
+        int slash = value.indexOf('/');
+        if (slash < 0) {
+            throw new IllegalArgumentException("Rate limit must look like 10/1m: " + value);
+        }
+        int capacity = Integer.parseInt(value.substring(0, slash).strip());
+        return new RateLimitRule(capacity, DurationStyle.detectAndParse(value.substring(slash + 1).strip()));
+    }
+
+    /** Time for one request's worth of tokens to refill */
+    long intervalMillis() {
+        return period.toMillis() / capacity;
+    }
+}
@@ -0,0 +1,301 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Token buckets keyed by client IP or by IP and username, without locks on the request path
+ * Each bucket is a single theoretical arrival time (GCRA): a request is admitted if the
+ * bucket would not run more than its capacity ahead of now, and the new time is set with
+ * one compare-and-set. Buckets live in a size-bounded cache and expire once idle for their
+ * refill period, when they are full again and dropping them changes nothing.
+ * In shared mode every instance adds its admitted requests to rate_limit_buckets in batches
+ * and adopts the combined arrival times, so limits hold across replicas to within one sync.
+ */
+@Component
+public class RateLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE rate_limit_buckets SET tat_millis = LEAST(GREATEST(tat_millis, ?) + ?, ?) WHERE bucket_key = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO rate_limit_buckets (bucket_key, tat_millis) VALUES (?, ?)";
+    private static final String CLEANUP_SQL = "DELETE FROM rate_limit_buckets WHERE tat_millis < ?";
+    private static final long CLEANUP_INTERVAL_MS = 60_000;
+
+    private final boolean shared;
+    private final int batchSize;
+    private final long maxKeys;
+    private final Cache<String, Bucket> buckets;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Keys admitted or refused since the last sync, shared mode only
+    private final Set<String> touched = ConcurrentHashMap.newKeySet();
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private long lastCleanupMillis;
+    // Replaced in tests only
+    private Clock clock = Clock.systemUTC();
+
+    private final Counter syncFailures;
+    private final Timer syncTimer;
+
+    public RateLimiter(DataSource dataSource, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                       @Value("${app.rate-limit.max-keys:100000}") long maxKeys,
+                       @Value("${app.rate-limit.shared.enabled:false}") boolean shared,
+                       @Value("${app.rate-limit.shared.batch-size:500}") int batchSize) {
+        this.shared = shared;
+        this.batchSize = batchSize;
+        this.maxKeys = maxKeys;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfter(new UntilRefilled())
+                .build();
+
+        this.syncFailures = Counter.builder("seatflix.ratelimit.sync.failures").register(meterRegistry);
+        this.syncTimer = Timer.builder("seatflix.ratelimit.sync").register(meterRegistry);
+        Gauge.builder("seatflix.ratelimit.buckets", buckets, Cache::estimatedSize)
+                .description("Rate-limit buckets held in memory")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Take one token from the bucket of a key
+     * @param key bucket key; the same key must always be used with the same rule
+     * @return 0 if the request is admitted, otherwise milliseconds until it would be
+     */
+    public long tryAcquire(String key, RateLimitRule rule) {
+        Bucket bucket = buckets.get(key, k -> new Bucket(rule));
+        long interval = bucket.intervalMillis;
+        while (true) {
+            long now = clock.millis();
+            long tat = bucket.tat.get();
+            long next = Math.max(tat, now) + interval;
+            long allowedAt = next - bucket.periodMillis;
+            if (allowedAt > now) {
+                markTouched(key);
+                return allowedAt - now;
+            }
+            if (bucket.tat.compareAndSet(tat, next)) {
+                if (shared) {
+                    bucket.unsynced.incrementAndGet();
+                    markTouched(key);
+                }
+                return 0;
+            }
+        }
+    }
+
+    private void markTouched(String key) {
+        // Bounded like the buckets; an untracked key is synced the next time it is used
+        if (shared && touched.size() < maxKeys) {
+            touched.add(key);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.shared.sync-interval-ms:1000}")
+    void sync() {
+        if (!shared || !syncLock.tryLock()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            List<String> keys = new ArrayList<>();
+            for (Iterator<String> it = touched.iterator(); it.hasNext(); ) {
+                keys.add(it.next());
+                it.remove();
+            }
+            // Same row order on every instance, so concurrent syncs cannot deadlock
+            Collections.sort(keys);
+            for (int from = 0; from < keys.size(); from += batchSize) {
+                syncChunk(keys.subList(from, Math.min(from + batchSize, keys.size())));
+            }
+            cleanup();
+        } finally {
+            syncTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            syncLock.unlock();
+        }
+    }
+
+    // Push this instance's admitted requests, then adopt the combined arrival times
+    private void syncChunk(List<String> keys) {
+        List<Pending> pushed = new ArrayList<>(keys.size());
+        for (String key : keys) {
+            Bucket bucket = buckets.policy().getIfPresentQuietly(key);
+            if (bucket != null) {
+                pushed.add(new Pending(key, bucket, bucket.unsynced.getAndSet(0)));
+            }
+        }
+        if (pushed.isEmpty()) {
+            return;
+        }
+        long now = clock.millis();
+        try {
+            List<Stored> stored = transactionTemplate.execute(status -> {
+                write(pushed, now);
+                return read(pushed);
+            });
+            for (Stored row : stored) {
+                row.bucket.tat.accumulateAndGet(row.tatMillis, Math::max);
+            }
+        } catch (DataAccessException e) {
+            // Counted again with the next sync; until then this instance limits on its own
+            for (Pending row : pushed) {
+                row.bucket.unsynced.addAndGet(row.consumed);
+                touched.add(row.key);
+            }
+            syncFailures.increment();
+            log.warn("Rate limit sync of {} buckets failed: {}", pushed.size(), e.getMessage());
+        }
+    }
+
+    private void write(List<Pending> rows, long now) {
+        List<Pending> consumed = rows.stream().filter(row -> row.consumed > 0).toList();
+        if (consumed.isEmpty()) {
+            return;
+        }
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Pending row = consumed.get(i);
+                ps.setLong(1, now);
+                ps.setLong(2, row.consumed * row.bucket.intervalMillis);
+                // Never further ahead than one full bucket, so overshoot cannot lock a key out for long
+                ps.setLong(3, now + row.bucket.periodMillis);
+                ps.setString(4, row.key);
+            }
+
+            @Override
+            public int getBatchSize() {
+                return consumed.size();
+            }
+        });
+        List<Pending> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            if (updated[i] == 0) {
+                missing.add(consumed.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            // A concurrent insert by another instance fails the chunk, which is retried as updates
+            jdbcTemplate.batchUpdate(INSERT_SQL, new BatchPreparedStatementSetter() {
+                @Override
+                public void setValues(PreparedStatement ps, int i) throws SQLException {
+                    ps.setString(1, missing.get(i).key);
+                    ps.setLong(2, missing.get(i).bucket.tat.get());
+                }
+
+                @Override
+                public int getBatchSize() {
+                    return missing.size();
+                }
+            });
+        }
+    }
+
+    private List<Stored> read(List<Pending> rows) {
+        StringBuilder sql = new StringBuilder("SELECT bucket_key, tat_millis FROM rate_limit_buckets WHERE bucket_key IN (");
+        for (int i = 0; i < rows.size(); i++) {
+            sql.append(i == 0 ? "?" : ", ?");
+        }
+        sql.append(')');
+        Map<String, Bucket> byKey = new HashMap<>(rows.size() * 2);
+        rows.forEach(row -> byKey.put(row.key, row.bucket));
+        return jdbcTemplate.query(sql.toString(),
+                (rs, i) -> new Stored(byKey.get(rs.getString(1)), rs.getLong(2)),
+                rows.stream().map(Pending::key).toArray());
+    }
+
+    // Rows whose arrival time has passed describe full buckets, the same as no row
+    private void cleanup() {
+        long now = clock.millis();
+        if (now - lastCleanupMillis < CLEANUP_INTERVAL_MS) {
+            return;
+        }
+        lastCleanupMillis = now;
+        try {
+            jdbcTemplate.update(CLEANUP_SQL, now);
+        } catch (DataAccessException e) {
+            log.warn("Rate limit cleanup failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        sync();
+    }
+
+    private static final class Bucket {
+        private final long intervalMillis;
+        private final long periodMillis;
+        private final AtomicLong tat = new AtomicLong();
+        private final AtomicLong unsynced = new AtomicLong();
+
+        private Bucket(RateLimitRule rule) {
+            this.intervalMillis = rule.intervalMillis();
+            this.periodMillis = intervalMillis * rule.capacity();
+        }
+    }
+
+    private record Pending(String key, Bucket bucket, long consumed) {
+    }
+
+    private record Stored(Bucket bucket, long tatMillis) {
+    }
+
+    // A bucket left alone for its whole period is full again
+    private static final class UntilRefilled implements Expiry<String, Bucket> {
+        @Override
+        public long expireAfterCreate(String key, Bucket bucket, long currentTime) {
+            return TimeUnit.MILLISECONDS.toNanos(bucket.periodMillis);
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, Bucket bucket, long currentTime, long currentDuration) {
+            return TimeUnit.MILLISECONDS.toNanos(bucket.periodMillis);
+        }
+
+        @Override
+        public long expireAfterRead(String key, Bucket bucket, long currentTime, long currentDuration) {
+            return TimeUnit.MILLISECONDS.toNanos(bucket.periodMillis);
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UsersRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Decides whether a stateless token is still current by comparing its embedded
+ * version with the user's stored token version.
+ * Versions are cached briefly so the check costs at most one tiny query per user per TTL;
+ * the cache is size-bounded and evicts entries one at a time when full.
+ */
+@Service
+public class TokenVersionService {
+
+    private static final int USER_MISSING = -1;
+    private static final int INVALIDATION_STRIPES = 1024;
+
+    private final UsersRepository usersRepository;
+    private final boolean enabled;
+    private final boolean caching;
+    private final Cache<Long, Integer> versions;
+
+    // Counts invalidations; each stripe holds the count at the last invalidation of one of its users
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(INVALIDATION_STRIPES);
+
+    public TokenVersionService(UsersRepository usersRepository, MeterRegistry meterRegistry,
+                               @Value("${jwt.version-check.enabled:true}") boolean enabled,
+                               @Value("${jwt.version-check.ttl-ms:30000}") long ttlMs,
+                               @Value("${jwt.version-check.max-size:10000}") long maxSize) {
+        this.usersRepository = usersRepository;
+        this.enabled = enabled;
+        this.caching = ttlMs > 0;
+        this.versions = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(Math.max(ttlMs, 1)))
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, versions, "jwt.token-versions");
+    }
+
+    /**
+     * Check whether a token carrying the given version is still accepted for the user
+     */
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        if (!enabled) {
+            return true;
+        }
+        return currentVersion(userId) == tokenVersion;
+    }
+
+    /**
+     * Drop the cached version now and again once the surrounding transaction completes,
+     * so the next check reads the committed version from the database
+     */
+    public void invalidate(Long userId) {
+        invalidateNow(userId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidateNow(userId);
+                }
+            });
+        }
+    }
+
+    private void invalidateNow(Long userId) {
+        invalidatedAt.accumulateAndGet(stripe(userId), invalidations.incrementAndGet(), Math::max);
+        versions.invalidate(userId);
+    }
+
+    private int currentVersion(Long userId) {
+        Integer cached = versions.getIfPresent(userId);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Loaded outside the cache's compute so a slow query never holds a map lock
+        long loadStartedAt = invalidations.get();
+        int version = usersRepository.findTokenVersionById(userId).orElse(USER_MISSING);
+        if (caching) {
+            versions.put(userId, version);
+            // An invalidation during the query may have run before this put; the value could be stale
+            if (invalidatedAt.get(stripe(userId)) > loadStartedAt) {
+                versions.asMap().remove(userId, version);
+            }
+        }
+        return version;
+    }
+
+    private static int stripe(Long userId) {
+        return Long.hashCode(userId) & (INVALIDATION_STRIPES - 1);
+    }
+}
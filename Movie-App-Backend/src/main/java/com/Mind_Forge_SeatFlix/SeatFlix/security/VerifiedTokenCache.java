@@ -0,0 +1,107 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.util.JwtUtil;
+import com.Mind_Forge_SeatFlix.SeatFlix.util.VerifiedToken;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Cache of already verified tokens, keyed by the SHA-256 digest of the raw token
+ * The frontend resends the same bearer token for its whole lifetime, so repeat
+ * requests skip HMAC verification. Entries never outlive the token's own expiry,
+ * and values are softly referenced so the GC can reclaim them under memory pressure.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    });
+
+    private final JwtUtil jwtUtil;
+    private final boolean enabled;
+    private final Cache<ByteBuffer, VerifiedToken> tokens;
+
+    public VerifiedTokenCache(JwtUtil jwtUtil, MeterRegistry meterRegistry,
+                              @Value("${jwt.token-cache.enabled:true}") boolean enabled,
+                              @Value("${jwt.token-cache.max-size:50000}") long maxSize) {
+        this.jwtUtil = jwtUtil;
+        this.enabled = enabled;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .softValues()
+                .expireAfter(new UntilTokenExpires())
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, tokens, "jwt.verified-tokens");
+        Gauge.builder("jwt.verified-tokens.hit.ratio", tokens, cache -> cache.stats().hitRate())
+                .description("Share of token verifications served from the cache")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Return the verified token, checking the signature only on a cache miss
+     * @throws io.jsonwebtoken.JwtException if the token is invalid or expired
+     */
+    public VerifiedToken verify(String token) {
+        if (!enabled) {
+            return jwtUtil.verify(token);
+        }
+
+        ByteBuffer key = digest(token);
+        VerifiedToken cached = tokens.getIfPresent(key);
+        if (cached != null && cached.getExpirationMillis() > System.currentTimeMillis()) {
+            return cached;
+        }
+
+        // Failures are never cached, only successfully verified tokens
+        VerifiedToken verified = jwtUtil.verify(token);
+        tokens.put(key, verified);
+        return verified;
+    }
+
+    private static ByteBuffer digest(String token) {
+        MessageDigest sha256 = SHA_256.get();
+        sha256.reset();
+        return ByteBuffer.wrap(sha256.digest(token.getBytes(StandardCharsets.US_ASCII)));
+    }
+
+    // Expire each entry exactly when the token itself expires
+    private static final class UntilTokenExpires implements Expiry<ByteBuffer, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(ByteBuffer key, VerifiedToken token, long currentTime) {
+            long remainingMs = token.getExpirationMillis() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, token, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(ByteBuffer key, VerifiedToken token, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.util;
+
+import java.util.Date;
+
+import io.jsonwebtoken.Claims;
+
+/**
+ * Immutable result of a single JWT verification.
+ * Produced by {@link JwtUtil#verify(String)} once the signature and expiry
+ * have been checked, so callers never need to parse the token again.
+ */
+public final class VerifiedToken {
+
+    private final String username;
+    private final Date issuedAt;
+    private final Date expiration;
+    private final Claims claims;
+
+    VerifiedToken(Claims claims) {
+        this.username = claims.getSubject();
+        this.issuedAt = claims.getIssuedAt();
+        this.expiration = claims.getExpiration();
+        this.claims = claims;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+
+    public Date getIssuedAt() {
+        return issuedAt == null ? null : new Date(issuedAt.getTime());
+    }
+
+    public Date getExpiration() {
+        return new Date(expiration.getTime());
+    }
+
+    public long getExpirationMillis() {
+        return expiration.getTime();
+    }
+
+    /**
+     * User id embedded at login, or null for tokens issued without it
+     */
+    public Long getUserId() {
+        Number userId = claims.get(JwtUtil.CLAIM_USER_ID, Number.class);
+        return userId == null ? null : userId.longValue();
+    }
+
+    public String getEmail() {
+        return claims.get(JwtUtil.CLAIM_EMAIL, String.class);
+    }
+
+    public int getTokenVersion() {
+        Number version = claims.get(JwtUtil.CLAIM_TOKEN_VERSION, Number.class);
+        return version == null ? 0 : version.intValue();
+    }
+
+    /**
+     * Read a custom claim from the verified payload
+     */
+    public <T> T getClaim(String name, Class<T> type) {
+        return claims.get(name, type);
+    }
+}
@@ -0,0 +1,9 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.watch;
+
+/**
+ * Heartbeat body sent by the player page
+ * @param season season of the episode being watched; ignored for movies
+ * @param durationSeconds length of the movie or episode, if the player knows it
+ */
+public record ProgressUpdate(Integer season, Integer episode, Integer positionSeconds, Integer durationSeconds) {
+}
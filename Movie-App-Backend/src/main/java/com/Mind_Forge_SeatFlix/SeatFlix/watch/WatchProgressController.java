@@ -0,0 +1,82 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.watch;
+
+import java.util.Optional;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.config.CustomUserDetails;
+
+/**
+ * Resume support for the player page: heartbeats in, last position out
+ */
+@RequestMapping(path = "api/v1/watch-progress")
+@RestController
+public class WatchProgressController {
+
+    private static final int MAX_RECENT = 50;
+
+    private final WatchProgressService watchProgressService;
+
+    public WatchProgressController(WatchProgressService watchProgressService) {
+        this.watchProgressService = watchProgressService;
+    }
+
+    // Heartbeat: buffered in memory and written with the next flush
+    @PutMapping("/{type}/{tmdbId}")
+    public ResponseEntity<?> heartbeat(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                       @PathVariable("type") String type,
+                                       @PathVariable("tmdbId") long tmdbId,
+                                       @RequestBody ProgressUpdate update) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
+        }
+        try {
+            if (!watchProgressService.heartbeat(userDetails.getId(), type, tmdbId, update)) {
+                return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, "30")
+                        .body("Server is busy, please try again shortly");
+            }
+            return ResponseEntity.accepted().build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    @GetMapping("/{type}/{tmdbId}")
+    public ResponseEntity<?> getProgress(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                         @PathVariable("type") String type,
+                                         @PathVariable("tmdbId") long tmdbId) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
+        }
+        if (!WatchProgressService.MEDIA_TYPES.contains(type)) {
+            return ResponseEntity.badRequest().body("Invalid media type");
+        }
+        Optional<WatchProgressView> progress = watchProgressService.getProgress(userDetails.getId(), type, tmdbId);
+        return progress.<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.NOT_FOUND).body("No progress"));
+    }
+
+    // Continue-watching list
+    @GetMapping
+    public ResponseEntity<?> getRecent(@AuthenticationPrincipal CustomUserDetails userDetails,
+                                       @RequestParam(defaultValue = "20") int limit) {
+        if (userDetails == null) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("User not authenticated");
+        }
+        if (limit < 1 || limit > MAX_RECENT) {
+            return ResponseEntity.badRequest().body("Invalid limit");
+        }
+        return ResponseEntity.ok(watchProgressService.getRecent(userDetails.getId(), limit));
+    }
+}
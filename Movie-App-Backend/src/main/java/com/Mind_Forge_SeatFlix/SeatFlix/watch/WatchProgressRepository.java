@@ -0,0 +1,46 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.watch;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.entity.WatchProgress;
+
+/**
+ * Read side of watch progress; writes go through batched JDBC in WatchProgressService
+ */
+@Repository
+public interface WatchProgressRepository extends JpaRepository<WatchProgress, Long> {
+
+    /**
+     * Stored progress of one title
+     * @return Optional containing the progress if the user has watched the title
+     */
+    @Query("SELECT new com.Mind_Forge_SeatFlix.SeatFlix.watch.WatchProgressView(w.mediaType, w.tmdbId, w.season, w.episode, "
+            + "w.positionSeconds, w.durationSeconds, w.updatedAt) "
+            + "FROM WatchProgress w WHERE w.user.id = ?1 AND w.mediaType = ?2 AND w.tmdbId = ?3")
+    Optional<WatchProgressView> findProgress(Long userId, String mediaType, Long tmdbId);
+
+    /**
+     * Most recently watched titles of a user
+     * @param limit maximum number of rows
+     * @return progress rows, newest first
+     */
+    @Query("SELECT new com.Mind_Forge_SeatFlix.SeatFlix.watch.WatchProgressView(w.mediaType, w.tmdbId, w.season, w.episode, "
+            + "w.positionSeconds, w.durationSeconds, w.updatedAt) "
+            + "FROM WatchProgress w WHERE w.user.id = ?1 ORDER BY w.updatedAt DESC")
+    List<WatchProgressView> findRecent(Long userId, Limit limit);
+
+    /**
+     * Remove all progress of a user, before the user itself is deleted
+     * @return number of rows deleted
+     */
+    @Modifying
+    @Query("DELETE FROM WatchProgress w WHERE w.user.id = ?1")
+    int deleteByUserId(Long userId);
+}
@@ -0,0 +1,279 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.watch;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Write-behind watch progress
+ * Heartbeats only replace the buffered progress of their (user, title), so any number of
+ * heartbeats per title between two flushes cost one row write. The buffer is written to
+ * watch_progress every flush interval and on shutdown, with a batched UPDATE and a batched
+ * INSERT for the rows that did not exist yet. Reads look at the buffer before the database.
+ */
+@Service
+public class WatchProgressService {
+
+    private static final Logger log = LoggerFactory.getLogger(WatchProgressService.class);
+
+    public static final Set<String> MEDIA_TYPES = Set.of("movie", "tv");
+    private static final int MAX_POSITION_SECONDS = 24 * 60 * 60;
+
+    private static final String UPDATE_SQL =
+            "UPDATE watch_progress SET season = ?, episode = ?, position_seconds = ?, duration_seconds = ?, "
+                    + "updated_at = ? WHERE user_id = ? AND media_type = ? AND tmdb_id = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO watch_progress (season, episode, position_seconds, duration_seconds, updated_at, "
+                    + "user_id, media_type, tmdb_id) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparingLong(Key::userId)
+            .thenComparing(Key::mediaType).thenComparingLong(Key::tmdbId);
+
+    private final WatchProgressRepository watchProgressRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxPending;
+    private final int batchSize;
+
+    private final Map<Key, WatchProgressView> pending = new ConcurrentHashMap<>();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private final Counter heartbeats;
+    private final Counter rejected;
+    private final Counter discarded;
+    private final Counter flushFailures;
+    private final Timer flushTimer;
+
+    public WatchProgressService(WatchProgressRepository watchProgressRepository, DataSource dataSource,
+                                PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                                @Value("${app.watch-progress.max-pending:100000}") int maxPending,
+                                @Value("${app.watch-progress.batch-size:500}") int batchSize) {
+        this.watchProgressRepository = watchProgressRepository;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+
+        this.heartbeats = Counter.builder("seatflix.watch.heartbeats").register(meterRegistry);
+        this.rejected = Counter.builder("seatflix.watch.rejected")
+                .description("Heartbeats for new titles refused because max-pending titles were buffered")
+                .register(meterRegistry);
+        this.discarded = Counter.builder("seatflix.watch.discarded")
+                .description("Buffered progress dropped because its user no longer exists")
+                .register(meterRegistry);
+        this.flushFailures = Counter.builder("seatflix.watch.flush.failures").register(meterRegistry);
+        this.flushTimer = Timer.builder("seatflix.watch.flush").register(meterRegistry);
+        Gauge.builder("seatflix.watch.pending", pending, Map::size).register(meterRegistry);
+    }
+
+    /**
+     * Buffer the latest position of a user in a title
+     * @return false if the buffer is full; the client should retry with its next heartbeat
+     * @throws IllegalArgumentException if the update is out of range
+     */
+    public boolean heartbeat(Long userId, String mediaType, long tmdbId, ProgressUpdate update) {
+        if (!MEDIA_TYPES.contains(mediaType) || tmdbId <= 0) {
+            throw new IllegalArgumentException("Invalid title");
+        }
+        int position = update.positionSeconds() == null ? -1 : update.positionSeconds();
+        if (position < 0 || position > MAX_POSITION_SECONDS
+                || (update.durationSeconds() != null
+                    && (update.durationSeconds() <= 0 || update.durationSeconds() > MAX_POSITION_SECONDS))) {
+            throw new IllegalArgumentException("Invalid position");
+        }
+        boolean movie = mediaType.equals("movie");
+        int season = movie || update.season() == null ? 0 : update.season();
+        int episode = movie || update.episode() == null ? 0 : update.episode();
+        if (season < 0 || episode < 0) {
+            throw new IllegalArgumentException("Invalid episode");
+        }
+
+        Key key = new Key(userId, mediaType, tmdbId);
+        if (pending.size() >= maxPending && !pending.containsKey(key)) {
+            rejected.increment();
+            return false;
+        }
+        pending.put(key, new WatchProgressView(mediaType, tmdbId, season, episode, position,
+                update.durationSeconds(), Instant.now()));
+        heartbeats.increment();
+        return true;
+    }
+
+    /**
+     * Latest progress of a user in a title, buffered or stored
+     */
+    public Optional<WatchProgressView> getProgress(Long userId, String mediaType, long tmdbId) {
+        WatchProgressView buffered = pending.get(new Key(userId, mediaType, tmdbId));
+        if (buffered != null) {
+            return Optional.of(buffered);
+        }
+        return watchProgressRepository.findProgress(userId, mediaType, tmdbId);
+    }
+
+    /**
+     * Most recently watched titles of a user, newest first
+     * Buffered progress replaces the stored row of the same title.
+     */
+    public List<WatchProgressView> getRecent(Long userId, int limit) {
+        Map<String, WatchProgressView> byTitle = new HashMap<>();
+        for (WatchProgressView stored : watchProgressRepository.findRecent(userId, Limit.of(limit))) {
+            byTitle.put(stored.mediaType() + ":" + stored.tmdbId(), stored);
+        }
+        // The buffer holds at most one flush interval of heartbeats, so scanning it stays cheap
+        pending.forEach((key, buffered) -> {
+            if (key.userId() == userId) {
+                byTitle.put(key.mediaType() + ":" + key.tmdbId(), buffered);
+            }
+        });
+        return byTitle.values().stream()
+                .sorted(Comparator.comparing(WatchProgressView::updatedAt).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Forget all progress of a user; called before the user is deleted
+     */
+    public void deleteForUser(Long userId) {
+        pending.keySet().removeIf(key -> key.userId() == userId);
+        watchProgressRepository.deleteByUserId(userId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.watch-progress.flush-interval-ms:10000}")
+    void flush() {
+        flushLock.lock();
+        long started = System.nanoTime();
+        try {
+            if (pending.isEmpty()) {
+                return;
+            }
+            // Same row order on every instance, so concurrent flushes cannot deadlock
+            List<Map.Entry<Key, WatchProgressView>> snapshot = new ArrayList<>(pending.size());
+            pending.forEach((key, value) -> snapshot.add(Map.entry(key, value)));
+            snapshot.sort(Map.Entry.comparingByKey(KEY_ORDER));
+
+            for (int from = 0; from < snapshot.size(); from += batchSize) {
+                List<Map.Entry<Key, WatchProgressView>> chunk =
+                        snapshot.subList(from, Math.min(from + batchSize, snapshot.size()));
+                try {
+                    transactionTemplate.executeWithoutResult(status -> write(chunk));
+                    chunk.forEach(this::written);
+                } catch (DataIntegrityViolationException e) {
+                    // Usually a user deleted since the heartbeat; find the offending rows one by one
+                    writeIndividually(chunk);
+                } catch (DataAccessException e) {
+                    // Kept in the buffer and retried with the next flush
+                    flushFailures.increment();
+                    log.warn("Watch progress flush of {} titles failed: {}", chunk.size(), e.getMessage());
+                }
+            }
+        } finally {
+            flushTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            flushLock.unlock();
+        }
+    }
+
+    private void writeIndividually(List<Map.Entry<Key, WatchProgressView>> chunk) {
+        for (Map.Entry<Key, WatchProgressView> entry : chunk) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> write(List.of(entry)));
+                written(entry);
+            } catch (DataIntegrityViolationException e) {
+                discarded.increment();
+                written(entry);
+                log.debug("Discarding watch progress of user {}: {}", entry.getKey().userId(), e.getMessage());
+            } catch (DataAccessException e) {
+                flushFailures.increment();
+                log.warn("Watch progress write for user {} failed: {}", entry.getKey().userId(), e.getMessage());
+            }
+        }
+    }
+
+    // Leaves the entry buffered if a newer heartbeat replaced it during the write
+    private void written(Map.Entry<Key, WatchProgressView> entry) {
+        pending.remove(entry.getKey(), entry.getValue());
+    }
+
+    // Update existing rows in one batch, then insert the rows no update matched in another
+    private void write(List<Map.Entry<Key, WatchProgressView>> chunk) {
+        int[] updated = jdbcTemplate.batchUpdate(UPDATE_SQL, setter(chunk));
+        List<Map.Entry<Key, WatchProgressView>> missing = new ArrayList<>();
+        for (int i = 0; i < updated.length; i++) {
+            // SUCCESS_NO_INFO means the driver could not tell; Postgres and MySQL report real counts
+            if (updated[i] == 0) {
+                missing.add(chunk.get(i));
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_SQL, setter(missing));
+        }
+    }
+
+    // Both statements take the same parameters in the same order
+    private static BatchPreparedStatementSetter setter(List<Map.Entry<Key, WatchProgressView>> rows) {
+        return new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement ps, int i) throws SQLException {
+                Key key = rows.get(i).getKey();
+                WatchProgressView progress = rows.get(i).getValue();
+                ps.setInt(1, progress.season());
+                ps.setInt(2, progress.episode());
+                ps.setInt(3, progress.positionSeconds());
+                if (progress.durationSeconds() == null) {
+                    ps.setNull(4, Types.INTEGER);
+                } else {
+                    ps.setInt(4, progress.durationSeconds());
+                }
+                ps.setTimestamp(5, Timestamp.from(progress.updatedAt()));
+                ps.setLong(6, key.userId());
+                ps.setString(7, key.mediaType());
+                ps.setLong(8, key.tmdbId());
+            }
+
+            @Override
+            public int getBatchSize() {
+                return rows.size();
+            }
+        };
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    private record Key(long userId, String mediaType, long tmdbId) {
+    }
+}
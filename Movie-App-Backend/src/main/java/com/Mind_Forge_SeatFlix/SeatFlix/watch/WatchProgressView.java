@@ -0,0 +1,10 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.watch;
+
+import java.time.Instant;
+
+/**
+ * Where a user stopped in one title, as returned by the API and held in the write-behind buffer
+ */
+public record WatchProgressView(String mediaType, long tmdbId, int season, int episode,
+                                int positionSeconds, Integer durationSeconds, Instant updatedAt) {
+}
@@ -0,0 +1,66 @@
+-- Schema as Hibernate's ddl-auto=update created it, so Hibernate can validate against it.
+-- Databases that predate Flyway are baselined at version 0 and run this script too: every
+-- statement is a no-op for what already exists and adds what an older deploy did not create.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    profile_pic VARCHAR(255),
+    date_joined DATE,
+    token_version INT,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+) ENGINE = InnoDB;
+
+-- MySQL has no ADD COLUMN IF NOT EXISTS
+SET @add_token_version = (
+    SELECT IF(COUNT(*) = 0, 'ALTER TABLE users ADD COLUMN token_version INT', 'DO 0')
+    FROM information_schema.columns
+    WHERE table_schema = DATABASE() AND table_name = 'users' AND column_name = 'token_version');
+PREPARE add_token_version FROM @add_token_version;
+EXECUTE add_token_version;
+DEALLOCATE PREPARE add_token_version;
+
+CREATE TABLE IF NOT EXISTS avatar_gc_candidates (
+    avatar_dir VARCHAR(100) NOT NULL,
+    profile_pic VARCHAR(255) NOT NULL,
+    released_at_millis BIGINT NOT NULL,
+    PRIMARY KEY (avatar_dir)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS search_terms (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    term VARCHAR(100) NOT NULL,
+    search_count BIGINT NOT NULL,
+    movie_id BIGINT,
+    poster_url VARCHAR(255),
+    title VARCHAR(255),
+    last_searched DATETIME(6),
+    PRIMARY KEY (id),
+    CONSTRAINT uk_search_terms_term UNIQUE (term)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS watch_progress (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    user_id BIGINT NOT NULL,
+    media_type VARCHAR(10) NOT NULL,
+    tmdb_id BIGINT NOT NULL,
+    season INT NOT NULL,
+    episode INT NOT NULL,
+    position_seconds INT NOT NULL,
+    duration_seconds INT,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (id),
+    CONSTRAINT uk_watch_progress_title UNIQUE (user_id, media_type, tmdb_id),
+    INDEX idx_watch_progress_recent (user_id, updated_at),
+    CONSTRAINT fk_watch_progress_user FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(200) NOT NULL,
+    tat_millis BIGINT NOT NULL,
+    PRIMARY KEY (bucket_key)
+) ENGINE = InnoDB;
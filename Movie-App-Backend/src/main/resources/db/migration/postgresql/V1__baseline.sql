@@ -0,0 +1,53 @@
+-- Schema as Hibernate's ddl-auto=update created it, so Hibernate can validate against it.
+-- Databases that predate Flyway are baselined at version 0 and run this script too: every
+-- statement is a no-op for what already exists and adds what an older deploy did not create.
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    username VARCHAR(255) NOT NULL,
+    password VARCHAR(255),
+    email VARCHAR(255) NOT NULL,
+    profile_pic VARCHAR(255),
+    date_joined DATE,
+    token_version INTEGER,
+    CONSTRAINT uk_users_username UNIQUE (username),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+ALTER TABLE users ADD COLUMN IF NOT EXISTS token_version INTEGER;
+
+CREATE TABLE IF NOT EXISTS avatar_gc_candidates (
+    avatar_dir VARCHAR(100) PRIMARY KEY,
+    profile_pic VARCHAR(255) NOT NULL,
+    released_at_millis BIGINT NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS search_terms (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    term VARCHAR(100) NOT NULL,
+    search_count BIGINT NOT NULL,
+    movie_id BIGINT,
+    poster_url VARCHAR(255),
+    title VARCHAR(255),
+    last_searched TIMESTAMP(6) WITH TIME ZONE,
+    CONSTRAINT uk_search_terms_term UNIQUE (term)
+);
+
+CREATE TABLE IF NOT EXISTS watch_progress (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    user_id BIGINT NOT NULL,
+    media_type VARCHAR(10) NOT NULL,
+    tmdb_id BIGINT NOT NULL,
+    season INTEGER NOT NULL,
+    episode INTEGER NOT NULL,
+    position_seconds INTEGER NOT NULL,
+    duration_seconds INTEGER,
+    updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    CONSTRAINT uk_watch_progress_title UNIQUE (user_id, media_type, tmdb_id),
+    CONSTRAINT fk_watch_progress_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+CREATE INDEX IF NOT EXISTS idx_watch_progress_recent ON watch_progress (user_id, updated_at);
+
+CREATE TABLE IF NOT EXISTS rate_limit_buckets (
+    bucket_key VARCHAR(200) PRIMARY KEY,
+    tat_millis BIGINT NOT NULL
+);
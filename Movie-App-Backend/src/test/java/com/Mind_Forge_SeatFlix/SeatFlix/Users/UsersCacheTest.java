@@ -0,0 +1,85 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UsersCacheTest {
+
+    private UsersRepository usersRepository;
+    private UsersCache usersCache;
+
+    @BeforeEach
+    void setUp() {
+        usersRepository = mock(UsersRepository.class);
+        usersCache = new UsersCache(usersRepository, new SimpleMeterRegistry(), true, 100, 600);
+    }
+
+    @Test
+    void loadedUserIsServedFromTheCache() {
+        when(usersRepository.findById(1L)).thenReturn(Optional.of(user("old@example.com")));
+
+        usersCache.findById(1L);
+        assertThat(usersCache.findById(1L)).map(Users::getEmail).contains("old@example.com");
+
+        verify(usersRepository, times(1)).findById(1L);
+    }
+
+    @Test
+    void rowReadDuringAnEvictionIsNotCached() {
+        when(usersRepository.findById(1L))
+                .thenAnswer(invocation -> {
+                    // An update commits and evicts while this query is still returning the old row
+                    usersCache.evict(1L);
+                    return Optional.of(user("old@example.com"));
+                })
+                .thenReturn(Optional.of(user("new@example.com")));
+
+        assertThat(usersCache.findById(1L)).map(Users::getEmail).contains("old@example.com");
+        assertThat(usersCache.peekById(1L)).isEmpty();
+        assertThat(usersCache.findById(1L)).map(Users::getEmail).contains("new@example.com");
+    }
+
+    @Test
+    void rowReadByUsernameDuringAnEvictionIsNotCached() {
+        when(usersRepository.findUserByUsername("alice"))
+                .thenAnswer(invocation -> {
+                    usersCache.evict(1L);
+                    return Optional.of(user("old@example.com"));
+                })
+                .thenReturn(Optional.of(user("new@example.com")));
+
+        usersCache.findByUsername("alice");
+
+        assertThat(usersCache.findByUsername("alice")).map(Users::getEmail).contains("new@example.com");
+    }
+
+    @Test
+    void evictionOfAnotherUserDoesNotBlockCaching() {
+        when(usersRepository.findById(1L)).thenAnswer(invocation -> {
+            usersCache.evict(2L);
+            return Optional.of(user("old@example.com"));
+        });
+
+        usersCache.findById(1L);
+
+        assertThat(usersCache.peekById(1L)).isPresent();
+    }
+
+    private static Users user(String email) {
+        Users user = new Users(1L, "alice", "hash", email);
+        user.setTokenVersion(0);
+        return user;
+    }
+}
@@ -0,0 +1,88 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.Users;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.entity.Users;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.PasswordHashingService;
+import com.Mind_Forge_SeatFlix.SeatFlix.security.TokenVersionService;
+import com.Mind_Forge_SeatFlix.SeatFlix.util.JwtUtil;
+import com.Mind_Forge_SeatFlix.SeatFlix.watch.WatchProgressService;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class UsersServiceLoginTest {
+
+    private static final int STRENGTH = 5;
+    private static final String PASSWORD = "correct horse";
+
+    private UsersRepository usersRepository;
+    private UsersCache usersCache;
+    private UsersService usersService;
+
+    @BeforeEach
+    void setUp() {
+        usersRepository = mock(UsersRepository.class);
+        usersCache = mock(UsersCache.class);
+        JwtUtil jwtUtil = mock(JwtUtil.class);
+        when(jwtUtil.generateToken(any())).thenReturn("token");
+        PasswordHashingService passwordHashingService =
+                new PasswordHashingService(new SimpleMeterRegistry(), STRENGTH, 1, 8, 5_000, 1);
+        usersService = new UsersService(usersRepository, passwordHashingService, mock(TokenVersionService.class),
+                usersCache, jwtUtil, mock(WatchProgressService.class), mock(PlatformTransactionManager.class));
+    }
+
+    @Test
+    void loginUpgradesAHashStoredAtAnotherCost() {
+        Users user = user(new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        LoginResponse response = usersService.login("alice", PASSWORD);
+
+        assertThat(response.token()).isEqualTo("token");
+        ArgumentCaptor<Users> saved = ArgumentCaptor.forClass(Users.class);
+        verify(usersRepository).save(saved.capture());
+        String rehashed = saved.getValue().getPassword();
+        assertThat(rehashed).startsWith("$2a$0" + STRENGTH + "$");
+        assertThat(new BCryptPasswordEncoder(STRENGTH).matches(PASSWORD, rehashed)).isTrue();
+        verify(usersCache).evict(user.getId());
+    }
+
+    @Test
+    void loginKeepsAHashAtTheConfiguredCost() {
+        user(new BCryptPasswordEncoder(STRENGTH).encode(PASSWORD));
+
+        usersService.login("alice", PASSWORD);
+
+        verify(usersRepository, never()).save(any());
+    }
+
+    @Test
+    void wrongPasswordNeverRehashes() {
+        user(new BCryptPasswordEncoder(4).encode(PASSWORD));
+
+        assertThatThrownBy(() -> usersService.login("alice", "wrong"))
+                .isInstanceOf(BadCredentialsException.class);
+        verify(usersRepository, never()).save(any());
+    }
+
+    private Users user(String passwordHash) {
+        Users user = new Users(7L, "alice", passwordHash, "alice@example.com");
+        when(usersCache.findByUsername("alice")).thenReturn(Optional.of(user));
+        when(usersRepository.findById(7L)).thenReturn(Optional.of(user));
+        return user;
+    }
+}
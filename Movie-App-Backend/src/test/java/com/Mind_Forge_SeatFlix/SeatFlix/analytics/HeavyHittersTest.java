@@ -0,0 +1,168 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.analytics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class HeavyHittersTest {
+
+    private static final long T0 = 1_000_000L;
+    // Long enough that nothing decays within a test that keeps the clock still
+    private static final long NO_DECAY = Long.MAX_VALUE / 4;
+
+    @Test
+    void countsExactlyBelowCapacity() {
+        HeavyHitters<String, String> hitters = new HeavyHitters<>(3, NO_DECAY, T0);
+        hitters.add("a", "A", 3, T0);
+        hitters.add("b", "B", 2, T0);
+        hitters.add("c", "C", 1, T0);
+
+        List<HeavyHitters.Estimate<String, String>> top = hitters.top(3, T0);
+        assertThat(top).extracting(HeavyHitters.Estimate::key).containsExactly("a", "b", "c");
+        assertThat(top).extracting(HeavyHitters.Estimate::count).containsExactly(3.0, 2.0, 1.0);
+        assertThat(top).extracting(HeavyHitters.Estimate::error).containsOnly(0.0);
+        assertThat(top.get(0).payload()).isEqualTo("A");
+    }
+
+    @Test
+    void newKeyReplacesTheSmallestAndInheritsItsCount() {
+        HeavyHitters<String, String> hitters = new HeavyHitters<>(2, NO_DECAY, T0);
+        hitters.add("a", "A", 5, T0);
+        hitters.add("b", "B", 2, T0);
+        hitters.add("c", "C", 1, T0);
+
+        Map<String, HeavyHitters.Estimate<String, String>> top = byKey(hitters.top(2, T0));
+        assertThat(top).containsOnlyKeys("a", "c");
+        assertThat(top.get("a").count()).isEqualTo(5.0);
+        assertThat(top.get("c").count()).isEqualTo(3.0);
+        assertThat(top.get("c").error()).isEqualTo(2.0);
+        // The payload of the evicted key does not carry over
+        assertThat(top.get("c").payload()).isEqualTo("C");
+        assertThat(hitters.size()).isEqualTo(2);
+    }
+
+    @Test
+    void payloadIsKeptWhenNoneIsGiven() {
+        HeavyHitters<String, String> hitters = new HeavyHitters<>(2, NO_DECAY, T0);
+        hitters.add("a", "first", 1, T0);
+        hitters.add("a", null, 1, T0);
+
+        assertThat(hitters.top(1, T0).get(0).payload()).isEqualTo("first");
+    }
+
+    @Test
+    void estimatesStayWithinTheSpaceSavingBound() {
+        int capacity = 20;
+        HeavyHitters<Integer, Void> hitters = new HeavyHitters<>(capacity, NO_DECAY, T0);
+        Map<Integer, Long> exact = new HashMap<>();
+        SplittableRandom random = new SplittableRandom(42);
+        long total = 50_000;
+        for (int i = 0; i < total; i++) {
+            // Skewed keys: a few heavy ones over a long tail
+            int key = (int) Math.floor(Math.pow(random.nextDouble(), 3) * 500);
+            hitters.add(key, null, 1, T0);
+            exact.merge(key, 1L, Long::sum);
+        }
+
+        for (HeavyHitters.Estimate<Integer, Void> estimate : hitters.top(capacity, T0)) {
+            long actual = exact.get(estimate.key());
+            assertThat(estimate.count()).isGreaterThanOrEqualTo(actual);
+            assertThat(estimate.count() - estimate.error()).isLessThanOrEqualTo(actual);
+            assertThat(estimate.error()).isLessThanOrEqualTo((double) total / capacity);
+        }
+        // Every key above total/capacity is guaranteed to be tracked
+        Map<Integer, HeavyHitters.Estimate<Integer, Void>> tracked = byKey(hitters.top(capacity, T0));
+        exact.forEach((key, count) -> {
+            if (count > total / capacity) {
+                assertThat(tracked).containsKey(key);
+            }
+        });
+    }
+
+    @Test
+    void heapStaysOrderedWhenCountsGrow() {
+        HeavyHitters<String, Void> hitters = new HeavyHitters<>(8, NO_DECAY, T0);
+        for (int i = 1; i <= 8; i++) {
+            hitters.add("k" + i, null, i, T0);
+        }
+        assertHeapOrdered(hitters);
+
+        // The root grows past everything else and must sift down to a leaf
+        hitters.add("k1", null, 100, T0);
+        assertHeapOrdered(hitters);
+        hitters.add("k2", null, 3, T0);
+        assertHeapOrdered(hitters);
+
+        // The smallest is now k3 (3), so that is the key a newcomer replaces
+        hitters.add("new", null, 1, T0);
+        assertHeapOrdered(hitters);
+        Map<String, HeavyHitters.Estimate<String, Void>> top = byKey(hitters.top(8, T0));
+        assertThat(top).doesNotContainKey("k3").containsKeys("k1", "k2", "new");
+        assertThat(top.get("new").count()).isEqualTo(4.0);
+        assertThat(top.get("new").error()).isEqualTo(3.0);
+    }
+
+    @Test
+    void countsHalveEveryHalfLife() {
+        HeavyHitters<String, Void> hitters = new HeavyHitters<>(4, 1_000, T0);
+        hitters.add("old", null, 8, T0);
+
+        assertThat(hitters.top(1, T0 + 1_000).get(0).count()).isCloseTo(4.0, within(1e-9));
+        assertThat(hitters.top(1, T0 + 3_000).get(0).count()).isCloseTo(1.0, within(1e-9));
+
+        // A later occurrence weighs more than an earlier one, so recent keys overtake
+        hitters.add("recent", null, 2, T0 + 3_000);
+        List<HeavyHitters.Estimate<String, Void>> top = hitters.top(2, T0 + 3_000);
+        assertThat(top).extracting(HeavyHitters.Estimate::key).containsExactly("recent", "old");
+        assertThat(top.get(0).count()).isCloseTo(2.0, within(1e-9));
+    }
+
+    @Test
+    void rescalesLargeWeightsWithoutChangingEstimates() {
+        HeavyHitters<String, Void> hitters = new HeavyHitters<>(4, 1_000, T0);
+        hitters.add("a", null, 1, T0);
+        hitters.add("b", null, 4, T0);
+
+        // 61 half-lives later the next weight would be 2^61, which triggers a rescale first
+        long later = T0 + 61_000;
+        hitters.add("c", null, 1, later);
+        assertThat((long) ReflectionTestUtils.getField(hitters, "landmarkMillis")).isEqualTo(later);
+
+        List<HeavyHitters.Estimate<String, Void>> top = hitters.top(3, later);
+        assertThat(top).extracting(HeavyHitters.Estimate::key).containsExactly("c", "b", "a");
+        assertThat(top.get(0).count()).isCloseTo(1.0, within(1e-12));
+        assertThat(top.get(1).count()).isCloseTo(4 * Math.pow(2, -61), within(1e-24));
+        assertThat(top.get(2).count()).isCloseTo(Math.pow(2, -61), within(1e-24));
+        assertHeapOrdered(hitters);
+
+        // Counting continues on the new landmark
+        hitters.add("a", null, 1, later + 1_000);
+        assertThat(byKey(hitters.top(3, later + 1_000)).get("a").count())
+                .isCloseTo(1.0 + Math.pow(2, -62), within(1e-12));
+    }
+
+    private static <K, V> Map<K, HeavyHitters.Estimate<K, V>> byKey(List<HeavyHitters.Estimate<K, V>> estimates) {
+        return estimates.stream().collect(Collectors.toMap(HeavyHitters.Estimate::key, Function.identity()));
+    }
+
+    // Min-heap property, and every entry knows its own slot
+    private static void assertHeapOrdered(HeavyHitters<?, ?> hitters) {
+        Object[] heap = (Object[]) ReflectionTestUtils.getField(hitters, "heap");
+        for (int i = 0; i < hitters.size(); i++) {
+            assertThat((int) ReflectionTestUtils.getField(heap[i], "heapIndex")).isEqualTo(i);
+            if (i > 0) {
+                double parent = (double) ReflectionTestUtils.getField(heap[(i - 1) / 2], "count");
+                assertThat((double) ReflectionTestUtils.getField(heap[i], "count")).isGreaterThanOrEqualTo(parent);
+            }
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.avatar;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class AvatarControllerTest {
+
+    private static final String ETAG = "\"abc123/64.png\"";
+
+    @TempDir
+    Path tempDir;
+
+    private AvatarStorage storage;
+    private AvatarController controller;
+
+    @BeforeEach
+    void setUp() {
+        storage = mock(AvatarStorage.class);
+        controller = new AvatarController(storage, new SimpleMeterRegistry(), 1 << 20, 65536);
+    }
+
+    @Test
+    void matchingEtagOfAStoredFileIsNotModified() throws Exception {
+        when(storage.fetch("abc123/64.png")).thenReturn(storedFile());
+
+        MockHttpServletResponse response = get(ETAG);
+
+        assertThat(response.getStatus()).isEqualTo(304);
+        assertThat(response.getHeader(HttpHeaders.ETAG)).isEqualTo(ETAG);
+    }
+
+    @Test
+    void matchingEtagOfADeletedFileIsNotFound() throws Exception {
+        assertThat(get(ETAG).getStatus()).isEqualTo(404);
+    }
+
+    @Test
+    void wildcardDoesNotMatch() throws Exception {
+        when(storage.fetch("abc123/64.png")).thenReturn(storedFile());
+
+        MockHttpServletResponse response = get("*");
+
+        assertThat(response.getStatus()).isEqualTo(200);
+        assertThat(response.getContentAsByteArray()).containsExactly(1, 2, 3);
+    }
+
+    private MockHttpServletResponse get(String ifNoneMatch) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/uploads/avatars/abc123/64.png");
+        request.addHeader(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        controller.getAvatar("abc123", "64.png", request, response);
+        return response;
+    }
+
+    private Path storedFile() throws Exception {
+        return Files.write(tempDir.resolve("64.png"), new byte[] {1, 2, 3});
+    }
+}
@@ -0,0 +1,32 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.loadtest;
+
+/**
+ * Operations the load generator can drive, by the name used in the mix option
+ */
+enum Endpoint {
+    REGISTER("register"),
+    LOGIN("login"),
+    ME("me"),
+    GET_BY_ID("get"),
+    UPDATE("put"),
+    UPLOAD_AVATAR("avatar");
+
+    private final String key;
+
+    Endpoint(String key) {
+        this.key = key;
+    }
+
+    String key() {
+        return key;
+    }
+
+    static Endpoint fromKey(String key) {
+        for (Endpoint endpoint : values()) {
+            if (endpoint.key.equals(key)) {
+                return endpoint;
+            }
+        }
+        throw new IllegalArgumentException("Unknown endpoint in mix: " + key);
+    }
+}
@@ -0,0 +1,72 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.loadtest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * Latency and outcome counts for one endpoint
+ * Latency runs from the request's scheduled arrival time, not the moment it was sent,
+ * so time spent queued behind a slow server is included (no coordinated omission).
+ */
+final class EndpointStats {
+
+    private final Histogram latencyMicros = new ConcurrentHistogram(TimeUnit.MINUTES.toMicros(10), 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+    private final LongAdder transportErrors = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    void recordResponse(int status, long latencyNanos) {
+        latencyMicros.recordValue(Math.min(latencyMicros.getHighestTrackableValue(),
+                TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+
+    void recordTransportError(long latencyNanos) {
+        latencyMicros.recordValue(Math.min(latencyMicros.getHighestTrackableValue(),
+                TimeUnit.NANOSECONDS.toMicros(latencyNanos)));
+        transportErrors.increment();
+    }
+
+    // Arrival skipped because the client already had max-in-flight requests outstanding
+    void recordDropped() {
+        dropped.increment();
+    }
+
+    Map<String, Object> report(double measuredSeconds) {
+        long total = latencyMicros.getTotalCount();
+        long errors = transportErrors.sum();
+        Map<String, Long> byStatus = new TreeMap<>();
+        for (Map.Entry<Integer, LongAdder> entry : statuses.entrySet()) {
+            long count = entry.getValue().sum();
+            byStatus.put(String.valueOf(entry.getKey()), count);
+            if (entry.getKey() >= 400) {
+                errors += count;
+            }
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("requests", total);
+        report.put("throughputPerSecond", total / measuredSeconds);
+        report.put("errorRate", total == 0 ? 0.0 : (double) errors / total);
+        report.put("p50Ms", percentileMs(50));
+        report.put("p95Ms", percentileMs(95));
+        report.put("p99Ms", percentileMs(99));
+        report.put("p999Ms", percentileMs(99.9));
+        report.put("maxMs", total == 0 ? 0.0 : latencyMicros.getMaxValue() / 1000.0);
+        report.put("statuses", byStatus);
+        report.put("transportErrors", transportErrors.sum());
+        report.put("dropped", dropped.sum());
+        return report;
+    }
+
+    private double percentileMs(double percentile) {
+        return latencyMicros.getTotalCount() == 0 ? 0.0 : latencyMicros.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
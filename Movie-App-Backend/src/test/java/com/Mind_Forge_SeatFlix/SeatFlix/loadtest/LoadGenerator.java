@@ -0,0 +1,356 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.loadtest;
+
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import javax.imageio.ImageIO;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.UserAuthServiceApplication;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.BulkImportResult;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.BulkUserRecord;
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UsersBulkService;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Offline end-to-end load test
+ * Boots the application with the "loadtest" profile (embedded H2 in PostgreSQL mode),
+ * seeds users through the bulk import path, then drives the HTTP API with an open
+ * workload: arrivals follow a Poisson process at the configured rate regardless of how
+ * fast the server answers, so overload shows up as latency and errors rather than as
+ * a silently lower request rate.
+ *
+ * Run: mvn -Ploadtest test-compile exec:java -Dexec.args="rate=300 duration=60 mix=login:10,me:60,get:30"
+ * See {@link LoadTestOptions} for all options.
+ */
+public final class LoadGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadGenerator.class);
+
+    private static final String PASSWORD = "loadtest-password";
+    private static final String API = "/api/v1/users";
+    private static final int MAX_SESSIONS = 200;
+    private static final String BOUNDARY = "seatflix-loadtest-boundary";
+    private static final int AVATAR_VARIANTS = 8;
+
+    private final LoadTestOptions options;
+    private final String baseUrl;
+    private final HttpClient client;
+    private final ExecutorService responseExecutor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final Map<Endpoint, EndpointStats> stats = new EnumMap<>(Endpoint.class);
+    private final List<Session> sessions = new ArrayList<>();
+    // Sessions of the users that UPDATE changes, each in use by at most one request at a time
+    private final ConcurrentLinkedQueue<Session> idleMutableSessions = new ConcurrentLinkedQueue<>();
+    private final List<byte[]> avatarBodies = new ArrayList<>();
+    private final String runId = Long.toString(System.currentTimeMillis() % 1_000_000, 36);
+    private final AtomicLong sequence = new AtomicLong();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private LoadGenerator(LoadTestOptions options, String baseUrl) throws IOException {
+        this.options = options;
+        this.baseUrl = baseUrl;
+        this.responseExecutor = Executors.newFixedThreadPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(responseExecutor)
+                .build();
+        // A few distinct images so uploads are not all deduplicated by content hash
+        for (int i = 0; i < AVATAR_VARIANTS; i++) {
+            avatarBodies.add(multipartAvatar(i));
+        }
+        for (Endpoint endpoint : Endpoint.values()) {
+            stats.put(endpoint, new EndpointStats());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestOptions options = LoadTestOptions.parse(args);
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(UserAuthServiceApplication.class)
+                .profiles("loadtest")
+                .run();
+        try {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            seedUsers(context, options.users());
+            LoadGenerator generator = new LoadGenerator(options, "http://localhost:" + port);
+            try {
+                generator.run();
+            } finally {
+                generator.responseExecutor.shutdownNow();
+            }
+        } finally {
+            context.close();
+        }
+    }
+
+    /**
+     * Seed users through the bulk import path with one precomputed hash
+     * The last tenth of the users are only ever modified by PUT requests, so updates never
+     * revoke the tokens of the sessions that drive the other endpoints.
+     */
+    private static void seedUsers(ConfigurableApplicationContext context, int users) throws IOException {
+        String passwordHash = context.getBean(PasswordEncoder.class).encode(PASSWORD);
+        ObjectMapper mapper = context.getBean(ObjectMapper.class);
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        for (int i = 0; i < users; i++) {
+            BulkUserRecord record = new BulkUserRecord(username(i), username(i) + "@load.test", null, passwordHash,
+                    null, null);
+            ndjson.write(mapper.writeValueAsBytes(record));
+            ndjson.write('\n');
+        }
+
+        long started = System.nanoTime();
+        BulkImportResult result = context.getBean(UsersBulkService.class)
+                .importUsers(new ByteArrayInputStream(ndjson.toByteArray()), UsersBulkService.Format.NDJSON);
+        log.info("Seeded {} users in {} ms", result.imported(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private static String username(int index) {
+        return "loaduser-" + index;
+    }
+
+    private void run() throws Exception {
+        openSessions();
+
+        SplittableRandom random = new SplittableRandom(options.seed());
+        long warmupNanos = TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long durationNanos = TimeUnit.SECONDS.toNanos(options.durationSeconds());
+        long start = System.nanoTime();
+        long measureFrom = start + warmupNanos;
+        long end = measureFrom + durationNanos;
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / options.rate();
+
+        log.info("Offering {} req/s for {} s warm-up + {} s measured, mix {}", options.rate(),
+                options.warmupSeconds(), options.durationSeconds(), options.mix());
+        long arrival = start;
+        while (true) {
+            // Exponential gaps give a Poisson arrival process
+            arrival += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (arrival >= end) {
+                break;
+            }
+            long wait = arrival - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            Endpoint endpoint = options.pick(random);
+            boolean measured = arrival >= measureFrom;
+            if (inFlight.get() >= options.maxInFlight()) {
+                if (measured) {
+                    stats.get(endpoint).recordDropped();
+                }
+                continue;
+            }
+            if (endpoint == Endpoint.UPDATE) {
+                // Users may only change their own account, and each change revokes their token
+                Session owner = idleMutableSessions.poll();
+                if (owner == null) {
+                    if (measured) {
+                        stats.get(endpoint).recordDropped();
+                    }
+                    continue;
+                }
+                send(endpoint, update(owner), arrival, measured).whenComplete((response, error) -> renew(owner));
+                continue;
+            }
+            send(endpoint, request(endpoint, random), arrival, measured);
+        }
+
+        long drainDeadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (inFlight.get() > 0 && System.nanoTime() < drainDeadline) {
+            Thread.sleep(50);
+        }
+        report();
+    }
+
+    private CompletableFuture<HttpResponse<Void>> send(Endpoint endpoint, HttpRequest request, long scheduledAt,
+                                                       boolean measured) {
+        inFlight.incrementAndGet();
+        return client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+            inFlight.decrementAndGet();
+            if (!measured) {
+                return;
+            }
+            long latency = System.nanoTime() - scheduledAt;
+            if (error != null) {
+                stats.get(endpoint).recordTransportError(latency);
+            } else {
+                stats.get(endpoint).recordResponse(response.statusCode(), latency);
+            }
+        });
+    }
+
+    // Log in a pool of seeded users up front; their tokens drive the authenticated endpoints
+    private void openSessions() throws IOException, InterruptedException {
+        int mutable = Math.max(1, options.users() / 10);
+        int count = Math.max(1, Math.min(MAX_SESSIONS, options.users() - mutable));
+        for (int i = 0; i < count; i++) {
+            sessions.add(openSession(username(i)));
+        }
+        if (options.mix().containsKey(Endpoint.UPDATE)) {
+            for (int i = options.users() - mutable; i < options.users(); i++) {
+                idleMutableSessions.add(openSession(username(i)));
+            }
+        }
+        log.info("Opened {} sessions, {} for updates", sessions.size(), idleMutableSessions.size());
+    }
+
+    private Session openSession(String username) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(login(username), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() != 200) {
+            throw new IllegalStateException("Login of " + username + " failed with " + response.statusCode());
+        }
+        return session(username, response.body());
+    }
+
+    private Session session(String username, String loginResponse) throws IOException {
+        JsonNode body = objectMapper.readTree(loginResponse);
+        return new Session(username, body.get("userId").asLong(), body.get("token").asText());
+    }
+
+    // Log an updated user in again, outside the measurements, and make the session available again
+    private void renew(Session owner) {
+        client.sendAsync(login(owner.username()), HttpResponse.BodyHandlers.ofString()).whenComplete((response, error) -> {
+            Session renewed = owner;
+            if (error == null && response.statusCode() == 200) {
+                try {
+                    renewed = session(owner.username(), response.body());
+                } catch (IOException e) {
+                    log.warn("Unreadable login response for {}: {}", owner.username(), e.getMessage());
+                }
+            }
+            idleMutableSessions.add(renewed);
+        });
+    }
+
+    private HttpRequest update(Session owner) {
+        return authorized(API + "/" + owner.userId() + "?email=mutable-" + runId + "-" + sequence.incrementAndGet()
+                + "%40load.test", owner).PUT(HttpRequest.BodyPublishers.noBody()).build();
+    }
+
+    private HttpRequest request(Endpoint endpoint, SplittableRandom random) {
+        Session session = sessions.get(random.nextInt(sessions.size()));
+        return switch (endpoint) {
+            case REGISTER -> {
+                String username = "reg-" + runId + "-" + sequence.incrementAndGet();
+                yield json(API + "/register", "{\"username\":\"" + username + "\",\"email\":\"" + username
+                        + "@load.test\",\"password\":\"" + PASSWORD + "\"}").build();
+            }
+            case LOGIN -> login(session.username());
+            case ME -> authorized(API + "/me", session).GET().build();
+            case GET_BY_ID -> authorized(API + "/" + sessions.get(random.nextInt(sessions.size())).userId(), session)
+                    .GET().build();
+            case UPDATE -> throw new IllegalStateException("Updates are sent for an idle mutable session");
+            case UPLOAD_AVATAR -> {
+                byte[] body = avatarBodies.get(random.nextInt(avatarBodies.size()));
+                yield authorized(API + "/upload-avatar", session)
+                        .header("Content-Type", "multipart/form-data; boundary=" + BOUNDARY)
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                        .build();
+            }
+        };
+    }
+
+    private HttpRequest login(String username) {
+        return json(API + "/login", "{\"username\":\"" + username + "\",\"password\":\"" + PASSWORD + "\"}").build();
+    }
+
+    private HttpRequest.Builder json(String path, String body) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private HttpRequest.Builder authorized(String path, Session session) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + session.token());
+    }
+
+    private void report() throws IOException {
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        System.out.printf("%n%-9s %9s %10s %8s %9s %9s %9s %9s %9s %8s%n", "endpoint", "requests", "req/s",
+                "errors", "p50 ms", "p95 ms", "p99 ms", "p99.9 ms", "max ms", "dropped");
+        for (Map.Entry<Endpoint, EndpointStats> entry : stats.entrySet()) {
+            if (!options.mix().containsKey(entry.getKey())) {
+                continue;
+            }
+            Map<String, Object> row = entry.getValue().report(options.durationSeconds());
+            endpoints.put(entry.getKey().key(), row);
+            System.out.printf("%-9s %9d %10.1f %7.2f%% %9.1f %9.1f %9.1f %9.1f %9.1f %8d  %s%n",
+                    entry.getKey().key(), row.get("requests"), row.get("throughputPerSecond"),
+                    (double) row.get("errorRate") * 100, row.get("p50Ms"), row.get("p95Ms"), row.get("p99Ms"),
+                    row.get("p999Ms"), row.get("maxMs"), row.get("dropped"), row.get("statuses"));
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("offeredRatePerSecond", options.rate());
+        report.put("warmupSeconds", options.warmupSeconds());
+        report.put("durationSeconds", options.durationSeconds());
+        report.put("seededUsers", options.users());
+        report.put("mix", options.mix());
+        report.put("endpoints", endpoints);
+        Files.createDirectories(options.report().toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(options.report().toFile(), report);
+        System.out.println("Report written to " + options.report().toAbsolutePath());
+    }
+
+    // A small generated PNG wrapped in a multipart/form-data body
+    private static byte[] multipartAvatar(int variant) throws IOException {
+        BufferedImage image = new BufferedImage(320, 320, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.getHSBColor(variant / (float) AVATAR_VARIANTS, 0.8f, 0.9f),
+                320, 320, Color.BLUE));
+        graphics.fillRect(0, 0, 320, 320);
+        graphics.dispose();
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        body.write(("--" + BOUNDARY + "\r\nContent-Disposition: form-data; name=\"file\"; filename=\"avatar.png\"\r\n"
+                + "Content-Type: image/png\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+        body.write(png.toByteArray());
+        body.write(("\r\n--" + BOUNDARY + "--\r\n").getBytes(StandardCharsets.US_ASCII));
+        return body.toByteArray();
+    }
+
+    private record Session(String username, long userId, String token) {
+    }
+}
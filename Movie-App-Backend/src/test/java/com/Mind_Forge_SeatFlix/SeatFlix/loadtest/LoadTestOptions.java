@@ -0,0 +1,76 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.loadtest;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Options for {@link LoadGenerator}, given as key=value arguments
+ * rate      mean arrivals per second (open model, Poisson)      default 200
+ * duration  measured seconds                                     default 60
+ * warmup    seconds of load before measuring                     default 10
+ * users     seeded users                                         default 1000
+ * mix       relative weights per endpoint                        default login:15,me:40,get:25,put:5,register:5,avatar:10
+ * max-in-flight  outstanding requests before arrivals are dropped default 5000
+ * seed      random seed for arrivals and choices                 default 42
+ * report    JSON report path                                     default target/loadtest/report.json
+ */
+record LoadTestOptions(double rate, int durationSeconds, int warmupSeconds, int users,
+                       Map<Endpoint, Integer> mix, int maxInFlight, long seed, Path report) {
+
+    private static final String DEFAULT_MIX = "login:15,me:40,get:25,put:5,register:5,avatar:10";
+
+    static LoadTestOptions parse(String[] args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            String option = arg.startsWith("--") ? arg.substring(2) : arg;
+            int equals = option.indexOf('=');
+            if (equals <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(option.substring(0, equals), option.substring(equals + 1));
+        }
+        return new LoadTestOptions(
+                Double.parseDouble(values.getOrDefault("rate", "200")),
+                Integer.parseInt(values.getOrDefault("duration", "60")),
+                Integer.parseInt(values.getOrDefault("warmup", "10")),
+                Integer.parseInt(values.getOrDefault("users", "1000")),
+                parseMix(values.getOrDefault("mix", DEFAULT_MIX)),
+                Integer.parseInt(values.getOrDefault("max-in-flight", "5000")),
+                Long.parseLong(values.getOrDefault("seed", "42")),
+                Paths.get(values.getOrDefault("report", "target/loadtest/report.json")));
+    }
+
+    private static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String part : mix.split(",")) {
+            String[] pair = part.trim().split(":");
+            int weight = Integer.parseInt(pair[1].trim());
+            if (weight > 0) {
+                weights.put(Endpoint.fromKey(pair[0].trim()), weight);
+            }
+        }
+        if (weights.isEmpty()) {
+            throw new IllegalArgumentException("Mix has no endpoints: " + mix);
+        }
+        return weights;
+    }
+
+    /**
+     * Pick an endpoint with probability proportional to its weight
+     */
+    Endpoint pick(SplittableRandom random) {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = random.nextInt(total);
+        for (Map.Entry<Endpoint, Integer> entry : mix.entrySet()) {
+            roll -= entry.getValue();
+            if (roll < 0) {
+                return entry.getKey();
+            }
+        }
+        throw new IllegalStateException("unreachable");
+    }
+}
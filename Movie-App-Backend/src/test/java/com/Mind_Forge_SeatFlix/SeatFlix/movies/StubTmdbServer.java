@@ -0,0 +1,65 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.movies;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+/**
+ * Local stand-in for the TMDB API, for exercising the /api/v1/movies proxy offline
+ * Answers every path with a small canned result list after an optional delay and
+ * prints how many requests reached it, which makes request coalescing visible.
+ *
+ * Run: mvn test-compile exec:java -Dexec.classpathScope=test
+ *        -Dexec.mainClass=com.Mind_Forge_SeatFlix.SeatFlix.movies.StubTmdbServer -Dexec.args="9090 200"
+ * then start the backend with TMDB_BASE_URL=http://localhost:9090/3
+ * Paths ending in /404 answer 404; paths ending in /500 answer 500.
+ */
+public final class StubTmdbServer {
+
+    private static final AtomicLong requests = new AtomicLong();
+
+    private StubTmdbServer() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 9090;
+        long delayMs = args.length > 1 ? Long.parseLong(args[1]) : 200;
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", port), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/3/", exchange -> handle(exchange, delayMs));
+        server.start();
+        System.out.printf("Stub TMDB listening on http://localhost:%d/3 (delay %d ms)%n", port, delayMs);
+    }
+
+    private static void handle(HttpExchange exchange, long delayMs) throws IOException {
+        long count = requests.incrementAndGet();
+        String path = exchange.getRequestURI().toString();
+        System.out.printf("#%d %s%n", count, path);
+        try {
+            Thread.sleep(delayMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        int status = path.endsWith("/404") ? 404 : path.endsWith("/500") ? 500 : 200;
+        byte[] body = ("{\"page\":1,\"stub_request\":" + count + ",\"results\":["
+                + "{\"id\":1399,\"name\":\"Game of Thrones\",\"title\":\"Game of Thrones\",\"poster_path\":null,"
+                + "\"vote_average\":8.4,\"original_language\":\"en\",\"first_air_date\":\"2011-04-17\"},"
+                + "{\"id\":603,\"title\":\"The Matrix\",\"poster_path\":null,\"vote_average\":8.2,"
+                + "\"original_language\":\"en\",\"release_date\":\"1999-03-31\"}],"
+                + "\"number_of_seasons\":2,\"episodes\":[{\"episode_number\":1},{\"episode_number\":2}],"
+                + "\"total_pages\":1,\"total_results\":2}").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class PasswordHashingServiceTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+    private PasswordHashingService service;
+
+    @AfterEach
+    void tearDown() {
+        release.countDown();
+        service.shutdown();
+    }
+
+    @Test
+    void hashTimingOutInTheQueueIsRemovedFromIt() throws Exception {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        service = new PasswordHashingService(meterRegistry, 4, 1, 8, 50, 1);
+        occupyWorker();
+
+        assertThatThrownBy(() -> service.encode("secret"))
+                .isInstanceOf(PasswordHashingBusyException.class);
+
+        assertThat(executor().getQueue()).isEmpty();
+        assertThat(meterRegistry.get("seatflix.password.hash.rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void hashThatHasStartedIsAwaitedPastTheTimeout() throws Exception {
+        // Cost 14 takes far longer than the 300 ms wait timeout
+        service = new PasswordHashingService(new SimpleMeterRegistry(), 14, 1, 8, 300, 1);
+        occupyWorker();
+
+        CompletableFuture<String> encoded = CompletableFuture.supplyAsync(() -> service.encode("secret"));
+        TimeUnit.MILLISECONDS.sleep(50);
+        release.countDown();
+
+        String hash = encoded.get(60, TimeUnit.SECONDS);
+        assertThat(new BCryptPasswordEncoder().matches("secret", hash)).isTrue();
+    }
+
+    // Keep the only hashing thread busy until the test releases it
+    private void occupyWorker() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        executor().execute(() -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        started.await();
+    }
+
+    private ThreadPoolExecutor executor() {
+        return (ThreadPoolExecutor) ReflectionTestUtils.getField(service, "executor");
+    }
+}
@@ -0,0 +1,112 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimitFilterTest {
+
+    private RateLimitFilter filter;
+
+    @BeforeEach
+    void setUp() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource();
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimiter rateLimiter = new RateLimiter(dataSource, new DataSourceTransactionManager(dataSource),
+                meterRegistry, 1000, false, 500);
+        filter = new RateLimitFilter(rateLimiter, meterRegistry, true, "100/1m", "5/1m", "10/10m", "3/10m");
+    }
+
+    @Test
+    void usernameLimitIsPerClient() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            assertThat(login("203.0.113.7", "victim").getStatus()).isEqualTo(200);
+        }
+        assertThat(login("203.0.113.7", "victim").getStatus()).isEqualTo(429);
+
+        // Another client can still log in to the same account
+        assertThat(login("198.51.100.20", "victim").getStatus()).isEqualTo(200);
+    }
+
+    @Test
+    void usernameIsMatchedCaseInsensitively() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            login("203.0.113.7", "Victim");
+        }
+        MockHttpServletResponse refused = login("203.0.113.7", " victim ");
+        assertThat(refused.getStatus()).isEqualTo(429);
+        assertThat(refused.getHeader("Retry-After")).isEqualTo("12");
+    }
+
+    @Test
+    void bodyIsReplayedToTheController() throws Exception {
+        MockHttpServletRequest request = loginRequest("203.0.113.7", "reader");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        byte[] replayed = chain.getRequest().getInputStream().readAllBytes();
+        assertThat(new String(replayed, StandardCharsets.UTF_8)).contains("\"username\":\"reader\"");
+    }
+
+    @Test
+    void replayedBodyCanBeReadAsynchronously() throws Exception {
+        MockHttpServletRequest request = loginRequest("203.0.113.7", "reader");
+        MockFilterChain chain = new MockFilterChain();
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        ServletInputStream in = chain.getRequest().getInputStream();
+        ByteArrayOutputStream read = new ByteArrayOutputStream();
+        boolean[] allRead = new boolean[1];
+        in.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws IOException {
+                while (in.isReady() && !in.isFinished()) {
+                    read.write(in.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead[0] = true;
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                throw new AssertionError(t);
+            }
+        });
+
+        assertThat(allRead[0]).isTrue();
+        assertThat(read.toString(StandardCharsets.UTF_8)).contains("\"username\":\"reader\"");
+    }
+
+    private MockHttpServletResponse login(String ip, String username) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(loginRequest(ip, username), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest loginRequest(String ip, String username) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/v1/users/login");
+        request.setRemoteAddr(ip);
+        request.setContentType("application/json");
+        request.setContent(("{\"username\":\"" + username + "\",\"password\":\"secret\"}")
+                .getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
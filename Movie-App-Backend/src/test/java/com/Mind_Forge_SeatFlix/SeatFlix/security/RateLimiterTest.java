@@ -0,0 +1,138 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class RateLimiterTest {
+
+    // 5 per minute: one token every 12 s
+    private static final RateLimitRule FIVE_PER_MINUTE = new RateLimitRule(5, Duration.ofMinutes(1));
+
+    private RateLimiter rateLimiter;
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        // Local mode never touches the database
+        DriverManagerDataSource dataSource = new DriverManagerDataSource();
+        rateLimiter = new RateLimiter(dataSource, new DataSourceTransactionManager(dataSource),
+                new SimpleMeterRegistry(), 1000, false, 500);
+        now = Instant.parse("2026-01-01T00:00:00Z");
+        setClock();
+    }
+
+    @Test
+    void admitsAFullBurstThenRefuses() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("burst", FIVE_PER_MINUTE)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("burst", FIVE_PER_MINUTE)).isEqualTo(12_000);
+    }
+
+    @Test
+    void refusalReportsTimeUntilTheNextToken() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("wait", FIVE_PER_MINUTE);
+        }
+        advance(Duration.ofSeconds(5));
+        assertThat(rateLimiter.tryAcquire("wait", FIVE_PER_MINUTE)).isEqualTo(7_000);
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("refill", FIVE_PER_MINUTE);
+        }
+
+        advance(Duration.ofSeconds(11));
+        assertThat(rateLimiter.tryAcquire("refill", FIVE_PER_MINUTE)).isEqualTo(1_000);
+
+        advance(Duration.ofSeconds(1));
+        assertThat(rateLimiter.tryAcquire("refill", FIVE_PER_MINUTE)).isZero();
+        assertThat(rateLimiter.tryAcquire("refill", FIVE_PER_MINUTE)).isPositive();
+    }
+
+    @Test
+    void idleBucketRefillsToCapacityButNoFurther() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("idle", FIVE_PER_MINUTE);
+        }
+
+        advance(Duration.ofHours(1));
+        for (int i = 0; i < 5; i++) {
+            assertThat(rateLimiter.tryAcquire("idle", FIVE_PER_MINUTE)).isZero();
+        }
+        assertThat(rateLimiter.tryAcquire("idle", FIVE_PER_MINUTE)).isPositive();
+    }
+
+    @Test
+    void keysHaveSeparateBuckets() {
+        for (int i = 0; i < 5; i++) {
+            rateLimiter.tryAcquire("a", FIVE_PER_MINUTE);
+        }
+        assertThat(rateLimiter.tryAcquire("a", FIVE_PER_MINUTE)).isPositive();
+        assertThat(rateLimiter.tryAcquire("b", FIVE_PER_MINUTE)).isZero();
+    }
+
+    @Test
+    void concurrentAcquiresNeverExceedCapacity() throws Exception {
+        RateLimitRule rule = new RateLimitRule(100, Duration.ofHours(1));
+        int threads = 16;
+        int attemptsPerThread = 200;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int admitted = 0;
+                    for (int i = 0; i < attemptsPerThread; i++) {
+                        if (rateLimiter.tryAcquire("shared", rule) == 0) {
+                            admitted++;
+                        }
+                    }
+                    return admitted;
+                }));
+            }
+            start.countDown();
+
+            int admitted = 0;
+            for (Future<Integer> result : results) {
+                admitted += result.get(10, TimeUnit.SECONDS);
+            }
+            // The clock is frozen, so exactly the burst gets through
+            assertThat(admitted).isEqualTo(100);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void advance(Duration duration) {
+        now = now.plus(duration);
+        setClock();
+    }
+
+    private void setClock() {
+        ReflectionTestUtils.setField(rateLimiter, "clock", Clock.fixed(now, ZoneOffset.UTC));
+    }
+}
@@ -0,0 +1,108 @@
+package com.Mind_Forge_SeatFlix.SeatFlix.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.Mind_Forge_SeatFlix.SeatFlix.Users.UsersRepository;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+class TokenVersionServiceTest {
+
+    private UsersRepository usersRepository;
+
+    @BeforeEach
+    void setUp() {
+        usersRepository = mock(UsersRepository.class);
+        when(usersRepository.findTokenVersionById(1L)).thenReturn(Optional.of(3));
+    }
+
+    @Test
+    void versionIsReadOncePerTtl() {
+        TokenVersionService service = service(30_000);
+
+        assertThat(service.isCurrent(1L, 3)).isTrue();
+        assertThat(service.isCurrent(1L, 2)).isFalse();
+
+        verify(usersRepository, times(1)).findTokenVersionById(1L);
+    }
+
+    @Test
+    void invalidateRereadsTheVersion() {
+        TokenVersionService service = service(30_000);
+        service.isCurrent(1L, 3);
+
+        when(usersRepository.findTokenVersionById(1L)).thenReturn(Optional.of(4));
+        service.invalidate(1L);
+
+        assertThat(service.isCurrent(1L, 3)).isFalse();
+        assertThat(service.isCurrent(1L, 4)).isTrue();
+    }
+
+    @Test
+    void versionReadDuringAnInvalidationIsNotCached() {
+        TokenVersionService service = service(30_000);
+        when(usersRepository.findTokenVersionById(1L))
+                .thenAnswer(invocation -> {
+                    // An update commits and invalidates while this query is still returning the old row
+                    service.invalidate(1L);
+                    return Optional.of(3);
+                })
+                .thenReturn(Optional.of(4));
+
+        assertThat(service.isCurrent(1L, 3)).isTrue();
+        assertThat(service.isCurrent(1L, 4)).isTrue();
+    }
+
+    @Test
+    void invalidateInsideATransactionRepeatsAfterCommit() {
+        TokenVersionService service = service(30_000);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            service.invalidate(1L);
+            // Read before the commit, so the database still has the old version
+            assertThat(service.isCurrent(1L, 3)).isTrue();
+
+            when(usersRepository.findTokenVersionById(1L)).thenReturn(Optional.of(4));
+            for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+                synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+            }
+
+            assertThat(service.isCurrent(1L, 4)).isTrue();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void missingUserNeverMatches() {
+        TokenVersionService service = service(30_000);
+        when(usersRepository.findTokenVersionById(500L)).thenReturn(Optional.empty());
+
+        assertThat(service.isCurrent(500L, 0)).isFalse();
+    }
+
+    @Test
+    void zeroTtlAlwaysReadsTheDatabase() {
+        TokenVersionService service = service(0);
+
+        service.isCurrent(1L, 3);
+        service.isCurrent(1L, 3);
+
+        verify(usersRepository, times(2)).findTokenVersionById(1L);
+    }
+
+    private TokenVersionService service(long ttlMs) {
+        return new TokenVersionService(usersRepository, new SimpleMeterRegistry(), true, ttlMs, 100);
+    }
+}
@@ -0,0 +1,24 @@
+import api, { endpoints } from "./api";
+
+// Fire-and-forget: the backend only counts the search in memory and answers 202
+export const updateSearchCount = (searchTerm, movie) => {
+  api
+    .post(endpoints.searchAnalytics, {
+      searchTerm,
+      movieId: movie.id,
+      posterPath: movie.poster_path,
+      title: movie.title || movie.name,
+    })
+    .catch((error) => console.error(error));
+};
+
+export const getTrendingMovies = async () => {
+  try {
+    // Served from the backend's in-memory snapshot; the browser revalidates it with If-None-Match
+    const result = await api.get(endpoints.trendingMovies, { params: { window: "week", limit: 10 } });
+    return result.data;
+  } catch (error) {
+    console.error(error);
+    return [];
+  }
+};
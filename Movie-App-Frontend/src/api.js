@@ -48,6 +48,18 @@ export const endpoints = {
   uploadAvatar: `/api/v1/users/upload-avatar`,
   getUser: `/api/v1/users`,
   getCurrentUser: `/api/v1/users/me`,
+  // TMDB data, proxied and cached by the backend
+  searchMedia: (type) => `/api/v1/movies/search/${type}`,
+  discoverMedia: (type) => `/api/v1/movies/discover/${type}`,
+  mediaDetails: (type, id) => `/api/v1/movies/${type}/${id}`,
+  tvSeason: (id, season) => `/api/v1/movies/tv/${id}/season/${season}`,
+  suggest: `/api/v1/movies/suggest`,
+  // Resume support
+  watchProgress: (type, id) => `/api/v1/watch-progress/${type}/${id}`,
+  // Search analytics
+  searchAnalytics: `/api/v1/analytics/search`,
+  trendingSearches: `/api/v1/analytics/trending`,
+  trendingMovies: `/api/v1/analytics/trending/movies`,
 };
 
 export default api;
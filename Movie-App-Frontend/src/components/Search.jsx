@@ -1,6 +1,29 @@
-import React from 'react'
+import React, { useState } from 'react'
+import { useDebounce } from 'react-use'
+import api, { endpoints } from '../api'
+
+const Search = ({searchTerm, setSearchTerm, mediaType}) => {
+  const [suggestions, setSuggestions] = useState([]);
+  const [showSuggestions, setShowSuggestions] = useState(false);
+
+  // Typeahead comes from the backend's in-memory title index, so a short debounce is enough
+  useDebounce(() => {
+    const query = searchTerm.trim();
+    if (query.length < 2) {
+      setSuggestions([]);
+      return;
+    }
+    api
+      .get(endpoints.suggest, { params: { query, type: mediaType, limit: 8 } })
+      .then((res) => setSuggestions(res.data))
+      .catch(() => setSuggestions([]));
+  }, 120, [searchTerm, mediaType]);
+
+  const pick = (suggestion) => {
+    setSearchTerm(suggestion.title);
+    setShowSuggestions(false);
+  };
 
-const Search = ({searchTerm, setSearchTerm}) => {
   return (
     
         <div className="search">
@@ -12,13 +35,32 @@ const Search = ({searchTerm, setSearchTerm}) => {
             type='text'
             placeholder='Search for Shows and Movies'
             value={searchTerm}
-            onChange={(event) => setSearchTerm(event.target.value)}
+            onChange={(event) => {
+              setSearchTerm(event.target.value);
+              setShowSuggestions(true);
+            }}
+            onBlur={() => setTimeout(() => setShowSuggestions(false), 150)}
             />
              </div>
+
+            {showSuggestions && suggestions.length > 0 && (
+              <ul className="mt-2 rounded-xl bg-dark-100 border border-white/10 overflow-hidden">
+                {suggestions.map((suggestion) => (
+                  <li
+                    key={`${suggestion.mediaType}-${suggestion.id}`}
+                    onMouseDown={() => pick(suggestion)}
+                    className="px-4 py-2 text-left text-light-200 cursor-pointer hover:bg-white/10"
+                  >
+                    {suggestion.title}
+                    {suggestion.year && <span className="text-gray-100 ml-2">({suggestion.year})</span>}
+                  </li>
+                ))}
+              </ul>
+            )}
         </div>
        
     
   )
 }
 
-export default Search
\ No newline at end of file
+export default Search
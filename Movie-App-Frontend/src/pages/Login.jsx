@@ -41,6 +41,8 @@ const Login = () => {
     } catch (err) {
       if (err.response?.status === 401) {
         setError("Invalid username or password.");
+      } else if (err.response?.status === 429) {
+        setError("Too many login attempts. Please wait a minute and try again.");
       } else {
         setError("An error occurred. Please try again later.");
       }
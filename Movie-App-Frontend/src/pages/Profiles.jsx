@@ -45,9 +45,25 @@ function Profile() {
       // Don't manually set Content-Type - let browser set it with boundary
       // The axios interceptor will automatically add the Authorization header
       const res = await api.post(`${endpoints.uploadAvatar}`, formData);
-      setUser(res.data);
-      setAvatarPreview(null);
       setError(null);
+
+      // 202 means the avatar is still being resized - keep the preview until the profile points to it
+      if (res.status === 202) {
+        const previousPic = res.data?.profilePic;
+        for (let attempt = 0; attempt < 10; attempt++) {
+          await new Promise((resolve) => setTimeout(resolve, 1000));
+          const profile = await api.get(endpoints.getCurrentUser);
+          if (profile.data?.profilePic !== previousPic) {
+            setUser(profile.data);
+            setAvatarPreview(null);
+            return;
+          }
+        }
+        setUser(res.data);
+      } else {
+        setUser(res.data);
+        setAvatarPreview(null);
+      }
     } catch (err) {
       console.error("Upload failed:", err);
       console.error("Response data:", err.response?.data);
@@ -31,7 +31,9 @@ const Register = () => {
         }, 2000);
       }
     } catch (error) {
-      if (error.response?.data) {
+      if (error.response?.status === 429) {
+        setError("Too many registration attempts. Please try again in a few minutes.");
+      } else if (error.response?.data) {
         setError(typeof error.response.data === 'string'
           ? error.response.data
           : 'Registration failed. Please try again.');
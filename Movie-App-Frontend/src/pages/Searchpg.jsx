@@ -3,18 +3,8 @@ import { useDebounce } from "react-use";
 import Search from "../components/Search";
 import Spinner from "../components/Spinner";
 import Moviecard from "../components/Moviecard";
-import { getTrendingMovies, updateSearchCount } from "../appwrite";
-
-const TMDB_API_KEY = import.meta.env.VITE_TMDB_API_KEY;
-const TMDB_API_BASE_URL = "https://api.themoviedb.org/3";
-
-const API_OPTIONS = {
-  method: "GET",
-  headers: {
-    accept: "application/json",
-    Authorization: `Bearer ${TMDB_API_KEY}`,
-  },
-};
+import { getTrendingMovies, updateSearchCount } from "../analytics";
+import api, { endpoints } from "../api";
 
 const Searchpg = () => {
   const [searchTerm, setSearchTerm] = useState("");
@@ -33,17 +23,12 @@ const Searchpg = () => {
 
     try {
       const endpoint = mediaType === 'movie' ? 'movie' : 'tv';
-      const TMDB_endpoint = query
-        ? `${TMDB_API_BASE_URL}/search/${endpoint}?query=${encodeURIComponent(query)}`
-        : `${TMDB_API_BASE_URL}/discover/${endpoint}?sort_by=popularity.desc`;
-
-      const TMDB_response = await fetch(TMDB_endpoint, API_OPTIONS);
-
-      if (!TMDB_response.ok) {
-        throw new Error("Failed to fetch TMDB DATA");
-      }
+      // The backend proxies TMDB, so the API key stays on the server and results are cached
+      const TMDB_response = query
+        ? await api.get(endpoints.searchMedia(endpoint), { params: { query } })
+        : await api.get(endpoints.discoverMedia(endpoint));
 
-      const TMDB_data = await TMDB_response.json();
+      const TMDB_data = TMDB_response.data;
 
       if (TMDB_data.Response === "False") {
         setErrorMsg(TMDB_data.Error || "Failed to fetch data");
@@ -59,7 +44,7 @@ const Searchpg = () => {
 
       setMediaList(resultsWithType);
       if (query && TMDB_data.results.length > 0) {
-        await updateSearchCount(query, TMDB_data.results[0]);
+        updateSearchCount(query, TMDB_data.results[0]);
       }
 
     } catch (error) {
@@ -96,7 +81,7 @@ const Searchpg = () => {
           <h1 className="text-5xl md:text-6xl font-bold bg-gradient-to-r from-purple-400 to-pink-600 bg-clip-text text-transparent mb-8">
             Discover Content
           </h1>
-          <Search searchTerm={searchTerm} setSearchTerm={setSearchTerm}/>
+          <Search searchTerm={searchTerm} setSearchTerm={setSearchTerm} mediaType={mediaType}/>
 
           {/* Media Type Tabs */}
           <div className="flex justify-center gap-4 mt-8">
@@ -128,9 +113,9 @@ const Searchpg = () => {
             <h2>Trending Movies</h2>
             <ul>
               {trendingMovies.map((movie, index) => (
-                <li key={movie.$id}>
+                <li key={movie.movieId}>
                   <p>{index + 1}</p>
-                  <img src={movie.poster_url} alt={movie.title} />
+                  <img src={movie.posterUrl || "/no-movie.png"} alt={movie.title} />
                 </li>
               ))}
             </ul>
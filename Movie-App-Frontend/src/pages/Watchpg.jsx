@@ -1,16 +1,6 @@
-import React, { useState, useEffect } from 'react';
+import React, { useState, useEffect, useRef } from 'react';
 import { useParams } from 'react-router-dom';
-
-const TMDB_API_KEY = import.meta.env.VITE_TMDB_API_KEY;
-const TMDB_API_BASE_URL = "https://api.themoviedb.org/3";
-
-const API_OPTIONS = {
-  method: "GET",
-  headers: {
-    accept: "application/json",
-    Authorization: `Bearer ${TMDB_API_KEY}`,
-  },
-};
+import api, { endpoints } from '../api';
 
 const Watchpg = () => {
   const { type, id } = useParams(); // Extract media type (movie/tv) and ID
@@ -19,14 +9,80 @@ const Watchpg = () => {
   const [episode, setEpisode] = useState(1);
   const [tvDetails, setTvDetails] = useState(null);
   const [seasonData, setSeasonData] = useState(null);
+  const [resume, setResume] = useState(null);
+  const positionRef = useRef(0);
+  const durationRef = useRef(null);
+
+  const HEARTBEAT_SECONDS = 15;
+
+  // Restore where this user stopped; for shows that includes the episode
+  useEffect(() => {
+    setResume(null);
+    api.get(endpoints.watchProgress(type, id))
+      .then(res => {
+        setResume(res.data);
+        if (type === 'tv' && res.data.season > 0) {
+          setSeason(res.data.season);
+          setEpisode(res.data.episode || 1);
+        }
+      })
+      .catch(err => {
+        if (err.response?.status !== 404) console.error('Error fetching watch progress:', err);
+      });
+  }, [type, id]);
+
+  // Players that post their time (e.g. {data: {currentTime, duration}}) give an exact position
+  useEffect(() => {
+    const onMessage = (event) => {
+      let payload = event.data;
+      if (typeof payload === 'string') {
+        try { payload = JSON.parse(payload); } catch { return; }
+      }
+      const data = payload?.data ?? payload;
+      if (typeof data?.currentTime === 'number') positionRef.current = Math.floor(data.currentTime);
+      if (typeof data?.duration === 'number' && data.duration > 0) durationRef.current = Math.floor(data.duration);
+    };
+    window.addEventListener('message', onMessage);
+    return () => window.removeEventListener('message', onMessage);
+  }, []);
+
+  // Heartbeats are cheap for the backend (buffered and written in batches), so send one every few seconds
+  useEffect(() => {
+    const sameEpisode = resume && (type === 'movie' || (resume.season === season && resume.episode === episode));
+    positionRef.current = sameEpisode ? resume.positionSeconds : 0;
+    durationRef.current = sameEpisode ? resume.durationSeconds : null;
+
+    const send = () => api.put(endpoints.watchProgress(type, id), {
+      season: type === 'tv' ? season : null,
+      episode: type === 'tv' ? episode : null,
+      positionSeconds: positionRef.current,
+      durationSeconds: durationRef.current,
+    }).catch(err => console.error('Error saving watch progress:', err));
+
+    const timer = setInterval(() => {
+      // Without player events, estimate the position from time spent on the visible page
+      if (document.visibilityState === 'visible') positionRef.current += HEARTBEAT_SECONDS;
+      send();
+    }, HEARTBEAT_SECONDS * 1000);
+    return () => {
+      clearInterval(timer);
+      if (positionRef.current > 0) send();
+    };
+  }, [type, id, season, episode, resume]);
+
+  const formatTime = (seconds) => {
+    const h = Math.floor(seconds / 3600);
+    const m = Math.floor((seconds % 3600) / 60);
+    const s = String(seconds % 60).padStart(2, '0');
+    return h > 0 ? `${h}:${String(m).padStart(2, '0')}:${s}` : `${m}:${s}`;
+  };
 
   // Fetch TV show details to get number of seasons
   useEffect(() => {
     if (type === 'tv') {
-      fetch(`${TMDB_API_BASE_URL}/tv/${id}`, API_OPTIONS)
-        .then(res => res.json())
-        .then(data => {
-          setTvDetails(data);
+      api.get(endpoints.mediaDetails('tv', id))
+        .then(res => {
+          setTvDetails(res.data);
         })
         .catch(err => console.error('Error fetching TV details:', err));
     }
@@ -35,10 +91,9 @@ const Watchpg = () => {
   // Fetch season details to get number of episodes
   useEffect(() => {
     if (type === 'tv' && season) {
-      fetch(`${TMDB_API_BASE_URL}/tv/${id}/season/${season}`, API_OPTIONS)
-        .then(res => res.json())
-        .then(data => {
-          setSeasonData(data);
+      api.get(endpoints.tvSeason(id, season))
+        .then(res => {
+          setSeasonData(res.data);
         })
         .catch(err => console.error('Error fetching season details:', err));
     }
@@ -85,6 +140,13 @@ const Watchpg = () => {
               </p>
             </div>
 
+            {resume && resume.positionSeconds > 0 && (
+              <p className="text-light-200 text-sm mb-4">
+                You stopped at {formatTime(resume.positionSeconds)}
+                {type === 'tv' && resume.season > 0 && ` in Season ${resume.season}, Episode ${resume.episode}`}
+              </p>
+            )}
+
             {tvDetails && type === 'tv' && (
               <div className="text-light-200 mb-4">
                 <h2 className="text-2xl font-semibold">{tvDetails.name}</h2>